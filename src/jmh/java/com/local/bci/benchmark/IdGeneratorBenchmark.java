@@ -0,0 +1,38 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.infrastructure.persistence.id.RandomIdGenerator;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures id generation cost with several threads sharing one generator.
+ * <p>
+ * {@link UuidV7Generator} advances a single compare-and-set counter;
+ * {@link RandomIdGenerator} draws 16 bytes from the shared {@code SecureRandom}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final RandomIdGenerator random = new RandomIdGenerator();
+    private final UuidV7Generator uuidV7 = new UuidV7Generator();
+
+    @Benchmark
+    public UUID random() {
+        return random.nextId();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return uuidV7.nextId();
+    }
+}
@@ -0,0 +1,102 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.infrastructure.persistence.id.RandomIdGenerator;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to insert a million users into an empty table, keyed by
+ * random (version 4) or time-ordered (version 7) UUIDs.
+ * <p>
+ * The table mirrors the {@code BINARY(16)} primary key and the unique email of
+ * {@code users}. The ids are generated before each run, so only the inserts are
+ * timed: random keys spread every batch over the whole primary key index, while
+ * version 7 keys append to its right edge.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IdInsertBenchmark {
+
+    private static final int INSERT_BATCH = 1000;
+
+    @Param({"random", "uuid-v7"})
+    public String generator;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Connection connection;
+    private byte[][] ids;
+
+    @Setup(Level.Trial)
+    public void openConnection() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:id_insert_" + generator + ";DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE users (id BINARY(16) PRIMARY KEY, email VARCHAR(255) NOT NULL UNIQUE)");
+        }
+        connection.commit();
+
+        IdGeneratorPort idGenerator = "uuid-v7".equals(generator) ? new UuidV7Generator() : new RandomIdGenerator();
+        ids = new byte[rows][];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = toBytes(idGenerator.nextId());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropTable() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP TABLE users");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users (id, email) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setBytes(1, ids[i]);
+                insert.setString(2, "user" + i + "@example.com");
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,91 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Map-backed {@link UserStore} so the use case benchmarks measure the application
+ * logic without database round-trips.
+ */
+class InMemoryUserStore implements UserStore {
+
+    private final ConcurrentMap<UUID, UserModel> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserModel> byEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UserModel> byToken = new ConcurrentHashMap<>();
+
+    @Override
+    public UserModel apply(UserModel user) {
+        UserModel previous = byId.put(user.getId(), user);
+        if (previous != null && previous.getToken() != null) {
+            byToken.remove(previous.getToken(), previous);
+        }
+        byEmail.put(user.getEmail(), user);
+        if (user.getToken() != null) {
+            byToken.put(user.getToken(), user);
+        }
+        return user;
+    }
+
+    @Override
+    public UserModel create(UserModel user) {
+        if (byEmail.putIfAbsent(user.getEmail(), user) != null) {
+            throw UserExistsException.INSTANCE;
+        }
+        byId.put(user.getId(), user);
+        if (user.getToken() != null) {
+            byToken.put(user.getToken(), user);
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<UserModel> findByEmail(String email) {
+        return Optional.ofNullable(byEmail.get(email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail.containsKey(email);
+    }
+
+    @Override
+    public Optional<UserModel> findByToken(String token) {
+        return Optional.ofNullable(byToken.get(token));
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public int updateLogin(UserModel user, String previousToken) {
+        if (byToken.remove(previousToken) == null) {
+            return 0;
+        }
+        byToken.put(user.getToken(), user);
+        return 1;
+    }
+
+    @Override
+    public List<UserModel> saveAll(List<UserModel> users) {
+        users.forEach(this::create);
+        return users;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (String email : emails) {
+            if (byEmail.containsKey(email)) {
+                existing.add(email);
+            }
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,108 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.infrastructure.security.Es256JwtCodec;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token generation and compares the per-login token handling cost of
+ * the former {@code validateToken} + {@code getSubject} sequence against the
+ * single {@link JwtService#verify(String)} pass.
+ * <p>
+ * The {@code jjwt*} benchmarks run the jjwt 0.9.1 calls the service used before
+ * the hand-written codec, as a baseline. Run with {@code -PjmhProfilers=gc} to
+ * compare allocations per operation.
+ * </p>
+ * <p>
+ * The {@code es256*} benchmarks sign and verify with an ES256 key ring, to weigh the
+ * cost of asymmetric tokens against HS256.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "verySecretKeyThatYouShouldChangeInProd";
+
+    private JwtService jwtService;
+    private String token;
+    private JwtService es256Service;
+    private String es256Token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtService = new JwtService(SECRET, 3600000L);
+        token = jwtService.generateToken("kevin@example.com");
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        es256Service = new JwtService(null,
+                new Es256JwtCodec("bench", pair.getPrivate(), Map.of("bench", pair.getPublic())), null, 3600000L);
+        es256Token = es256Service.generateToken("kevin@example.com");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken("kevin@example.com");
+    }
+
+    @Benchmark
+    public String validateThenGetSubject() {
+        if (!jwtService.validateToken(token)) {
+            throw new IllegalStateException("Invalid token");
+        }
+        return jwtService.getSubject(token);
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        return jwtService.verify(token)
+                .map(TokenClaims::getSubject)
+                .orElseThrow(() -> new IllegalStateException("Invalid token"));
+    }
+
+    @Benchmark
+    public String es256Generate() {
+        return es256Service.generateToken("kevin@example.com");
+    }
+
+    @Benchmark
+    public String es256Verify() {
+        return es256Service.verify(es256Token)
+                .map(TokenClaims::getSubject)
+                .orElseThrow(() -> new IllegalStateException("Invalid token"));
+    }
+
+    @Benchmark
+    public String jjwtGenerate() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("kevin@example.com")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 3600000L))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public String jjwtVerify() {
+        Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        return claims.getSubject();
+    }
+}
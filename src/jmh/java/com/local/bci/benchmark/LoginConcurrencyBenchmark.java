@@ -0,0 +1,153 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.mapper.UserDtoModelMapperImpl;
+import com.local.bci.application.usecase.impl.LoginUseCaseImpl;
+import com.local.bci.application.usecase.impl.SignUpUseCaseImpl;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.concurrency.EmailLocks;
+import com.local.bci.infrastructure.concurrency.VirtualThreads;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.persistence.adapter.ForwardingUserStore;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long {@code concurrency} simultaneous logins take when every store
+ * call waits {@code latencyMs}, as a remote database would.
+ * <p>
+ * {@code platform} runs them on a fixed pool of 200 threads, the Tomcat default
+ * for {@code server.tomcat.threads.max}; {@code virtual} starts one virtual thread
+ * per login, as {@code app.threads.virtual.enabled} does. The platform pool
+ * processes the logins in waves of 200, so its time grows with the concurrency
+ * while the virtual one stays near the latency of a single login. The
+ * {@code virtual} executor needs a Java 21 JVM: {@code -PjmhJvm=/path/to/jdk21/bin/java}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginConcurrencyBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"200", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"2"})
+    public long latencyMs;
+
+    private ExecutorService pool;
+    private LoginUseCaseImpl loginUseCase;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = "virtual".equals(executor)
+                ? VirtualThreads.newThreadPerTaskExecutor("login-")
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+
+        InMemoryUserStore store = new InMemoryUserStore();
+        UserDtoModelMapper dtoMapper = new UserDtoModelMapperImpl();
+        JwtService jwtService = new JwtService("verySecretKeyThatYouShouldChangeInProd", 3600000L);
+        PasswordHashingExecutor passwordHasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(4),
+                new SimpleMeterRegistry(), 0, 64, 1);
+        SignUpRequestValidator validator = new SignUpRequestValidator(
+                ValidationBenchmark.EMAIL_REGEX, ValidationBenchmark.PASSWORD_REGEX);
+        UseCaseMetrics metrics = new UseCaseMetrics(new SimpleMeterRegistry());
+
+        SignUpUseCaseImpl signUpUseCase = new SignUpUseCaseImpl(dtoMapper, store, store, email -> true,
+                new UuidV7Generator(), passwordHasher, jwtService, validator, new EmailLocks(1024), metrics);
+        tokens = new String[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            tokens[i] = signUpUseCase.apply(request("user" + i + "@example.com")).getToken();
+        }
+
+        UserStore slowStore = new SlowUserStore(store, latencyMs);
+        loginUseCase = new LoginUseCaseImpl(slowStore, slowStore, slowStore, jwtService, dtoMapper, metrics);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentLogins() {
+        CompletableFuture<?>[] logins = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            int user = i;
+            logins[i] = CompletableFuture.runAsync(
+                    () -> tokens[user] = loginUseCase.apply(tokens[user]).getToken(), pool);
+        }
+        CompletableFuture.allOf(logins).join();
+        return logins.length;
+    }
+
+    private static SignUpRequestDTO request(String email) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin Pineda");
+        request.setEmail(email);
+        request.setPassword("Abcdef12");
+        return request;
+    }
+
+    /**
+     * Adds a fixed delay to the lookups and the login update, standing in for the
+     * round-trip to the database.
+     */
+    private static final class SlowUserStore extends ForwardingUserStore {
+
+        private final long latencyMs;
+
+        private SlowUserStore(UserStore delegate, long latencyMs) {
+            super(delegate);
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Optional<UserModel> findByToken(String token) {
+            pause();
+            return super.findByToken(token);
+        }
+
+        @Override
+        public Optional<UserModel> findById(java.util.UUID id) {
+            pause();
+            return super.findById(id);
+        }
+
+        @Override
+        public int updateLogin(UserModel user, String previousToken) {
+            pause();
+            return super.updateLogin(user, previousToken);
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.mapper.UserDtoModelMapperImpl;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.mapper.UserEntityModelMapper;
+import com.local.bci.infrastructure.mapper.UserEntityModelMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct conversions on the sign-up and login paths:
+ * request DTO to model, model to response DTO, and the model/entity round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final UserDtoModelMapper dtoMapper = new UserDtoModelMapperImpl();
+    private final UserEntityModelMapper entityMapper = new UserEntityModelMapperImpl();
+
+    private SignUpRequestDTO request;
+    private UserModel model;
+
+    @Setup
+    public void setUp() {
+        request = new SignUpRequestDTO();
+        request.setName("Kevin Pineda");
+        request.setEmail("kevin@example.com");
+        request.setPassword("Abcdef12");
+        request.setPhones(Arrays.asList(phone(1234567L), phone(7654321L)));
+
+        model = dtoMapper.dtoToModel(request);
+        model.setId(UUID.randomUUID());
+        model.setCreated(LocalDateTime.now());
+        model.setLastLogin(LocalDateTime.now());
+        model.setIsActive(Boolean.TRUE);
+        model.setPasswordEncrypted("$2a$10$abcdefghijklmnopqrstuuJ0n3xH9Ql1Fh9k2b6lXgQk8o2z1bG2i");
+        model.setToken("token");
+    }
+
+    @Benchmark
+    public UserModel dtoToModel() {
+        return dtoMapper.dtoToModel(request);
+    }
+
+    @Benchmark
+    public UserResponseDTO modelToResponseDto() {
+        return dtoMapper.modelToResponseDto(model);
+    }
+
+    @Benchmark
+    public UserModel entityRoundTrip() {
+        return entityMapper.entityToModel(entityMapper.modelToEntity(model));
+    }
+
+    private static PhoneDTO phone(long number) {
+        PhoneDTO phone = new PhoneDTO();
+        phone.setNumber(number);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        return phone;
+    }
+}
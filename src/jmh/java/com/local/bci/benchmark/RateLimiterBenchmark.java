@@ -0,0 +1,65 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.infrastructure.security.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of the rate limiter with several threads sharing it.
+ * <p>
+ * {@code allowed} spreads requests over {@code clients} addresses under a rate that
+ * never empties a bucket; {@code rejected} hammers one address whose bucket is
+ * empty, as during a credential-stuffing burst. Both should stay well under a
+ * microsecond.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1000", "100000"})
+    public int clients;
+
+    private TokenBucketRateLimiter open;
+    private TokenBucketRateLimiter strict;
+    private String[] addresses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        open = new TokenBucketRateLimiter("open", 1_000_000, 1e9, 2 * clients, Duration.ofSeconds(30),
+                meterRegistry);
+        strict = new TokenBucketRateLimiter("strict", 1, 0.001, 2 * clients, Duration.ofSeconds(30),
+                meterRegistry);
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+        }
+        strict.tryAcquire("10.255.255.255");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        open.close();
+        strict.close();
+    }
+
+    @Benchmark
+    public long allowed() {
+        return open.tryAcquire(addresses[ThreadLocalRandom.current().nextInt(addresses.length)]);
+    }
+
+    @Benchmark
+    public long rejected() {
+        return strict.tryAcquire("10.255.255.255");
+    }
+}
@@ -0,0 +1,149 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.mapper.UserDtoModelMapperImpl;
+import com.local.bci.application.usecase.impl.LoginUseCaseImpl;
+import com.local.bci.application.usecase.impl.SignUpUseCaseImpl;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.infrastructure.concurrency.EmailLocks;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import com.local.bci.router.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rejected sign-ups and logins, from the use case to the error response
+ * built by {@link GlobalExceptionHandler}.
+ * <p>
+ * {@code invalidEmail}, {@code duplicateEmail}, {@code invalidToken} and
+ * {@code reusedToken} run the real use cases, which throw the preallocated stackless
+ * domain exceptions. {@code stackTraceBaseline} and {@code stacklessBaseline} throw a
+ * new {@link IllegalArgumentException} and the preallocated one from {@code depth}
+ * frames down, roughly the depth of a controller call inside Tomcat and Spring MVC,
+ * which is what every rejection used to cost.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectionBenchmark {
+
+    private static final IllegalArgumentException PREALLOCATED = new IllegalArgumentException("Invalid token") {
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    };
+
+    @Param({"100"})
+    public int depth;
+
+    private SignUpUseCaseImpl signUpUseCase;
+    private LoginUseCaseImpl loginUseCase;
+    private GlobalExceptionHandler handler;
+    private SignUpRequestDTO invalidEmail;
+    private SignUpRequestDTO duplicateEmail;
+    private String reusedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        UserDtoModelMapper dtoMapper = new UserDtoModelMapperImpl();
+        JwtService jwtService = new JwtService("verySecretKeyThatYouShouldChangeInProd", 3600000L);
+        PasswordHashingExecutor passwordHasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(4),
+                new SimpleMeterRegistry(), 0, 64, 1);
+        SignUpRequestValidator validator = new SignUpRequestValidator(
+                ValidationBenchmark.EMAIL_REGEX, ValidationBenchmark.PASSWORD_REGEX);
+        UseCaseMetrics metrics = new UseCaseMetrics(new SimpleMeterRegistry());
+
+        signUpUseCase = new SignUpUseCaseImpl(dtoMapper, store, store, email -> true,
+                new UuidV7Generator(), passwordHasher, jwtService, validator, new EmailLocks(1024), metrics);
+        loginUseCase = new LoginUseCaseImpl(store, store, store, jwtService, dtoMapper, metrics);
+        handler = new GlobalExceptionHandler();
+
+        invalidEmail = request("kevin@example", "Abcdef12");
+        duplicateEmail = request("kevin@example.com", "Abcdef12");
+        reusedToken = signUpUseCase.apply(duplicateEmail).getToken();
+        loginUseCase.apply(reusedToken);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> invalidEmail() {
+        try {
+            return ResponseEntity.ok(signUpUseCase.apply(invalidEmail));
+        } catch (IllegalArgumentException e) {
+            return handler.handleBadRequest(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> duplicateEmail() {
+        try {
+            return ResponseEntity.ok(signUpUseCase.apply(duplicateEmail));
+        } catch (IllegalStateException e) {
+            return handler.handleConflict(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> invalidToken() {
+        try {
+            return ResponseEntity.ok(loginUseCase.apply("not.a.token"));
+        } catch (IllegalArgumentException e) {
+            return handler.handleBadRequest(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> reusedToken() {
+        try {
+            return ResponseEntity.ok(loginUseCase.apply(reusedToken));
+        } catch (IllegalStateException e) {
+            return handler.handleConflict(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> stackTraceBaseline() {
+        try {
+            return ResponseEntity.ok(rejectAt(depth, false));
+        } catch (IllegalArgumentException e) {
+            return handler.handleBadRequest(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> stacklessBaseline() {
+        try {
+            return ResponseEntity.ok(rejectAt(depth, true));
+        } catch (IllegalArgumentException e) {
+            return handler.handleBadRequest(e);
+        }
+    }
+
+    private static Object rejectAt(int frames, boolean stackless) {
+        if (frames > 0) {
+            return rejectAt(frames - 1, stackless);
+        }
+        throw stackless ? PREALLOCATED : new IllegalArgumentException("Invalid token");
+    }
+
+    private static SignUpRequestDTO request(String email, String password) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin Pineda");
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
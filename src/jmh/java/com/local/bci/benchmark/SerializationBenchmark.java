@@ -0,0 +1,112 @@
+package com.local.bci.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.router.exception.GlobalExceptionHandler.ErrorItem;
+import com.local.bci.router.exception.GlobalExceptionHandler.ErrorResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing the sign-up/login response and an error body to a stream, as the
+ * message converters do.
+ * <p>
+ * {@code reflective*} use the mapper as it was before the Blackbird module was
+ * registered, {@code blackbird*} the current JSON mapper and {@code smile*} the Smile
+ * one. {@code errorMap} is the former {@code singletonMap} error body, {@code errorTyped}
+ * the {@link ErrorResponse} that replaced it. Run with {@code -PjmhProfilers=gc} for
+ * the bytes allocated per response.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+    private ObjectMapper reflective;
+    private ObjectMapper blackbird;
+    private ObjectMapper smile;
+    private UserResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        reflective = builder().build();
+        blackbird = builder().modulesToInstall(new BlackbirdModule()).build();
+        smile = builder().modulesToInstall(new BlackbirdModule()).factory(new SmileFactory()).build();
+
+        response = new UserResponseDTO();
+        response.setId(UUID.randomUUID());
+        response.setCreated(LocalDateTime.now());
+        response.setLastLogin(LocalDateTime.now());
+        response.setToken("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJrZXZpbkBleGFtcGxlLmNvbSIsImlhdCI6MTcwMDAwMDAwMCwiZXhwIjoxNzAwMDAzNjAwfQ"
+                + ".3q2-7wLh0Jz6y7Xq6h1f3Gm2y2Zc0n1Jt3mJk9Q0s5E");
+        response.setIsActive(Boolean.TRUE);
+        response.setName("Kevin Pineda");
+        response.setEmail("kevin@example.com");
+        response.setPassword("$2a$10$abcdefghijklmnopqrstuuJ0n3xH9Ql1Fh9k2b6lXgQk8o2z1bG2i");
+        response.setPhones(Arrays.asList(phone(1234567L), phone(7654321L)));
+    }
+
+    @Benchmark
+    public int reflectiveUser() throws IOException {
+        return write(reflective, response);
+    }
+
+    @Benchmark
+    public int blackbirdUser() throws IOException {
+        return write(blackbird, response);
+    }
+
+    @Benchmark
+    public int smileUser() throws IOException {
+        return write(smile, response);
+    }
+
+    @Benchmark
+    public int errorMap() throws IOException {
+        ErrorItem item = new ErrorItem(Instant.now().toString(), 400, "Invalid token");
+        return write(reflective, Collections.singletonMap("error", List.of(item)));
+    }
+
+    @Benchmark
+    public int errorTyped() throws IOException {
+        return write(blackbird, new ErrorResponse(new ErrorItem(Instant.now().toString(), 400, "Invalid token")));
+    }
+
+    private int write(ObjectMapper mapper, Object value) throws IOException {
+        out.reset();
+        mapper.writeValue(out, value);
+        return out.size();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static PhoneDTO phone(long number) {
+        PhoneDTO phone = new PhoneDTO();
+        phone.setNumber(number);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        return phone;
+    }
+}
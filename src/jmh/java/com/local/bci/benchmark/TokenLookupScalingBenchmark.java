@@ -0,0 +1,109 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenDigest;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures login token lookup latency as the users table grows.
+ * <p>
+ * The table mirrors the {@code users} columns involved in the lookup. The
+ * digest lookup should stay flat from 10k to 1M rows, while the full-token
+ * comparison on the unindexed column grows with the table size.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TokenLookupScalingBenchmark {
+
+    private static final int INSERT_BATCH = 1000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private Connection connection;
+    private PreparedStatement byToken;
+    private PreparedStatement byDigest;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:token_lookup_" + users + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE users (id BINARY(16) PRIMARY KEY, email VARCHAR(255) NOT NULL UNIQUE, "
+                    + "token VARCHAR(255), token_digest VARCHAR(64))");
+            ddl.execute("CREATE UNIQUE INDEX ux_users_token_digest ON users(token_digest)");
+        }
+
+        JwtService jwtService = new JwtService("verySecretKeyThatYouShouldChangeInProd", 3600000L);
+        tokens = new String[users];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, email, token, token_digest) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                String email = "user" + i + "@example.com";
+                String token = jwtService.generateToken(email);
+                tokens[i] = token;
+                insert.setBytes(1, toBytes(UUID.randomUUID()));
+                insert.setString(2, email);
+                insert.setString(3, token);
+                insert.setString(4, TokenDigest.of(token));
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        byToken = connection.prepareStatement("SELECT id FROM users WHERE token = ?");
+        byDigest = connection.prepareStatement("SELECT id FROM users WHERE token_digest = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean lookupByFullToken() throws SQLException {
+        byToken.setString(1, randomToken());
+        try (ResultSet rs = byToken.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    @Benchmark
+    public boolean lookupByTokenDigest() throws SQLException {
+        byDigest.setString(1, TokenDigest.of(randomToken()));
+        try (ResultSet rs = byDigest.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,91 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.mapper.UserDtoModelMapperImpl;
+import com.local.bci.application.usecase.impl.LoginUseCaseImpl;
+import com.local.bci.application.usecase.impl.SignUpUseCaseImpl;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.infrastructure.concurrency.EmailLocks;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full sign-up and login use cases against an in-memory store.
+ * <p>
+ * The BCrypt strength is a parameter: at strength 4 the result is dominated by
+ * validation, mapping and token handling, at the production strength by hashing.
+ * Every sign-up registers a new email, so the store grows during the run. Hashing
+ * runs on the daemon threads of {@link PasswordHashingExecutor}, as in the service.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UseCaseBenchmark {
+
+    @Param({"4", "10"})
+    public int strength;
+
+    private SignUpUseCaseImpl signUpUseCase;
+    private LoginUseCaseImpl loginUseCase;
+    private long sequence;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserStore store = new InMemoryUserStore();
+        UserDtoModelMapper dtoMapper = new UserDtoModelMapperImpl();
+        JwtService jwtService = new JwtService("verySecretKeyThatYouShouldChangeInProd", 3600000L);
+        PasswordHashingExecutor passwordHasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(strength),
+                new SimpleMeterRegistry(), 0, 64, 1);
+        SignUpRequestValidator validator = new SignUpRequestValidator(
+                ValidationBenchmark.EMAIL_REGEX, ValidationBenchmark.PASSWORD_REGEX);
+
+        UseCaseMetrics metrics = new UseCaseMetrics(new SimpleMeterRegistry());
+
+        signUpUseCase = new SignUpUseCaseImpl(dtoMapper, store, store, email -> true,
+                new UuidV7Generator(), passwordHasher, jwtService, validator, new EmailLocks(1024), metrics);
+        loginUseCase = new LoginUseCaseImpl(store, store, store, jwtService, dtoMapper, metrics);
+
+        token = signUpUseCase.apply(request("login@example.com")).getToken();
+    }
+
+    @Benchmark
+    public UserResponseDTO signUp() {
+        return signUpUseCase.apply(request("user" + (sequence++) + "@example.com"));
+    }
+
+    @Benchmark
+    public UserResponseDTO login() {
+        UserResponseDTO response = loginUseCase.apply(token);
+        token = response.getToken();
+        return response;
+    }
+
+    private static SignUpRequestDTO request(String email) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin Pineda");
+        request.setEmail(email);
+        request.setPassword("Abcdef12");
+        PhoneDTO phone = new PhoneDTO();
+        phone.setNumber(1234567L);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        request.setPhones(Collections.singletonList(phone));
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.local.bci.benchmark;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.validation.EmailFormatValidator;
+import com.local.bci.application.validation.PasswordFormatValidator;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the email and password pattern checks of sign-up, separately and
+ * through {@link SignUpRequestValidator}, for accepted and rejected input.
+ * <p>
+ * The {@code email} and {@code password} benchmarks run the regexes, the
+ * {@code *HandWritten} ones the single-pass validators that replace them by default.
+ * {@code validator} uses the default {@code auto} engine, {@code regexValidator}
+ * the {@code regex} engine.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    static final String EMAIL_REGEX = EmailFormatValidator.REGEX;
+    static final String PASSWORD_REGEX = PasswordFormatValidator.REGEX;
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private Pattern emailPattern;
+    private Pattern passwordPattern;
+    private SignUpRequestValidator validator;
+    private SignUpRequestValidator regexValidator;
+    private String email;
+    private String password;
+    private SignUpRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        emailPattern = Pattern.compile(EMAIL_REGEX);
+        passwordPattern = Pattern.compile(PASSWORD_REGEX);
+        validator = new SignUpRequestValidator(EMAIL_REGEX, PASSWORD_REGEX);
+        regexValidator = new SignUpRequestValidator(EMAIL_REGEX, PASSWORD_REGEX, SignUpRequestValidator.REGEX_ENGINE);
+
+        boolean valid = "valid".equals(input);
+        email = valid ? "kevin.pineda@example.com" : "kevin.pineda@example";
+        password = valid ? "abcdeF12" : "abcdefgh1";
+        request = new SignUpRequestDTO();
+        request.setEmail(email);
+        request.setPassword(password);
+    }
+
+    @Benchmark
+    public boolean email() {
+        return emailPattern.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean password() {
+        return passwordPattern.matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean emailHandWritten() {
+        return EmailFormatValidator.INSTANCE.isValid(email);
+    }
+
+    @Benchmark
+    public boolean passwordHandWritten() {
+        return PasswordFormatValidator.INSTANCE.isValid(password);
+    }
+
+    @Benchmark
+    public boolean validator() {
+        return validate(validator);
+    }
+
+    @Benchmark
+    public boolean regexValidator() {
+        return validate(regexValidator);
+    }
+
+    private boolean validate(SignUpRequestValidator target) {
+        try {
+            target.validate(request);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
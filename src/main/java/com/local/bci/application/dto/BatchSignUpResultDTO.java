@@ -0,0 +1,70 @@
+package com.local.bci.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchSignUpResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+
+    private String email;
+
+    private String status;
+
+    private String detail;
+
+    private UserResponseDTO user;
+
+    public static BatchSignUpResultDTO created(int index, UserResponseDTO user) {
+        return new BatchSignUpResultDTO(index, user.getEmail(), CREATED, null, user);
+    }
+
+    public static BatchSignUpResultDTO rejected(int index, String email, String detail) {
+        return new BatchSignUpResultDTO(index, email, REJECTED, detail, null);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public UserResponseDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserResponseDTO user) {
+        this.user = user;
+    }
+}
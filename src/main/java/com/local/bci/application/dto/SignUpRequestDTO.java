@@ -3,8 +3,6 @@ package com.local.bci.application.dto;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.Email;
-import javax.validation.constraints.NotBlank;
 import java.util.List;
 
 @AllArgsConstructor
@@ -13,11 +11,8 @@ public class SignUpRequestDTO {
 
     private String name;
 
-    @NotBlank
-    @Email
     private String email;
 
-    @NotBlank
     private String password;
 
     private List<PhoneDTO> phones;
@@ -30,19 +25,19 @@ public class SignUpRequestDTO {
         this.name = name;
     }
 
-    public @NotBlank @Email String getEmail() {
+    public String getEmail() {
         return email;
     }
 
-    public void setEmail(@NotBlank @Email String email) {
+    public void setEmail(String email) {
         this.email = email;
     }
 
-    public @NotBlank String getPassword() {
+    public String getPassword() {
         return password;
     }
 
-    public void setPassword(@NotBlank String password) {
+    public void setPassword(String password) {
         this.password = password;
     }
 
@@ -0,0 +1,18 @@
+package com.local.bci.application.usecase;
+
+import com.local.bci.application.dto.BatchSignUpResultDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents a use case for registering many users in one request.
+ * <p>
+ * This interface extends the {@link java.util.function.Function} interface,
+ * taking a list of {@link SignUpRequestDTO} and producing one
+ * {@link BatchSignUpResultDTO} per input record, in the same order.
+ * </p>
+ */
+public interface BatchSignUpUseCase extends Function<List<SignUpRequestDTO>, List<BatchSignUpResultDTO>> {
+}
@@ -0,0 +1,12 @@
+package com.local.bci.application.usecase;
+
+import com.local.bci.application.dto.UserResponseDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Non-blocking variant of {@link LoginUseCase}, used by the {@code reactive} profile.
+ */
+public interface ReactiveLoginUseCase extends Function<String, Mono<UserResponseDTO>> {
+}
@@ -0,0 +1,13 @@
+package com.local.bci.application.usecase;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Non-blocking variant of {@link SingUpUseCase}, used by the {@code reactive} profile.
+ */
+public interface ReactiveSignUpUseCase extends Function<SignUpRequestDTO, Mono<UserResponseDTO>> {
+}
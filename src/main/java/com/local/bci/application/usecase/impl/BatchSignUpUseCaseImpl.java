@@ -0,0 +1,181 @@
+package com.local.bci.application.usecase.impl;
+
+import com.local.bci.application.dto.BatchSignUpResultDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.usecase.BatchSignUpUseCase;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.FindExistingEmailsPort;
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.domain.port.persistence.SaveUsersPort;
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
+import com.local.bci.infrastructure.exception.IncorrectPatternException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Implementation of {@link BatchSignUpUseCase} that registers users in chunks.
+ * <p>
+ * Each chunk is validated with the same rules as the single sign-up, checked for
+ * duplicate emails (inside the batch and against the database, with one query per
+ * chunk), hashed in parallel on the password hashing pool and persisted in a single
+ * transaction using JDBC batching. A chunk that fails to persist is reported as
+ * rejected without affecting the chunks already saved.
+ * </p>
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class BatchSignUpUseCaseImpl implements BatchSignUpUseCase {
+
+    private final UserDtoModelMapper dtoMapper;
+    private final SaveUsersPort saveUsersPort;
+    private final FindExistingEmailsPort findExistingEmailsPort;
+    private final IdGeneratorPort idGenerator;
+    private final PasswordHashingExecutor passwordHasher;
+    private final JwtService jwtService;
+    private final SignUpRequestValidator requestValidator;
+    private final int chunkSize;
+
+    public BatchSignUpUseCaseImpl(UserDtoModelMapper dtoMapper,
+                                  SaveUsersPort saveUsersPort,
+                                  FindExistingEmailsPort findExistingEmailsPort,
+                                  IdGeneratorPort idGenerator,
+                                  PasswordHashingExecutor passwordHasher,
+                                  JwtService jwtService,
+                                  SignUpRequestValidator requestValidator,
+                                  @Value("${app.sign-up.batch.chunk-size:500}") int chunkSize) {
+        this.dtoMapper = dtoMapper;
+        this.saveUsersPort = saveUsersPort;
+        this.findExistingEmailsPort = findExistingEmailsPort;
+        this.idGenerator = idGenerator;
+        this.passwordHasher = passwordHasher;
+        this.jwtService = jwtService;
+        this.requestValidator = requestValidator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Registers every valid record of the batch.
+     *
+     * @param requests sign-up records, in submission order
+     * @return one result per record, at the same position as its request
+     */
+    @Override
+    public List<BatchSignUpResultDTO> apply(List<SignUpRequestDTO> requests) {
+        log.info("Batch sign-up request with {} records", requests.size());
+
+        BatchSignUpResultDTO[] results = new BatchSignUpResultDTO[requests.size()];
+        Set<String> seenEmails = new HashSet<>();
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, requests.size());
+            processChunk(requests, start, end, seenEmails, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void processChunk(List<SignUpRequestDTO> requests, int start, int end,
+                              Set<String> seenEmails, BatchSignUpResultDTO[] results) {
+        List<Integer> accepted = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            SignUpRequestDTO request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchSignUpResultDTO.rejected(i, null, "Invalid record");
+                continue;
+            }
+            try {
+                requestValidator.validate(request);
+            } catch (IncorrectPatternException e) {
+                results[i] = BatchSignUpResultDTO.rejected(i, request.getEmail(), e.getMessage());
+                continue;
+            }
+            if (!seenEmails.add(request.getEmail())) {
+                results[i] = BatchSignUpResultDTO.rejected(i, request.getEmail(), "Duplicate email in batch");
+                continue;
+            }
+            accepted.add(i);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> emails = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            emails.add(requests.get(i).getEmail());
+        }
+        Set<String> existing = findExistingEmailsPort.findExistingEmails(emails);
+
+        List<Integer> toCreate = new ArrayList<>(accepted.size());
+        List<String> passwords = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            SignUpRequestDTO request = requests.get(i);
+            if (existing.contains(request.getEmail())) {
+                results[i] = BatchSignUpResultDTO.rejected(i, request.getEmail(), "User already exists");
+            } else {
+                toCreate.add(i);
+                passwords.add(request.getPassword());
+            }
+        }
+        if (toCreate.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordHasher.encodeAll(passwords);
+        } catch (HashingCapacityExceededException e) {
+            rejectAll(requests, toCreate, e.getMessage(), results);
+            return;
+        }
+
+        List<UserModel> models = new ArrayList<>(toCreate.size());
+        for (int k = 0; k < toCreate.size(); k++) {
+            models.add(newUser(requests.get(toCreate.get(k)), hashes.get(k)));
+        }
+
+        List<UserModel> saved;
+        try {
+            saved = saveUsersPort.saveAll(models);
+        } catch (UserPersistenceException e) {
+            rejectAll(requests, toCreate, e.getMessage(), results);
+            return;
+        }
+
+        for (int k = 0; k < toCreate.size(); k++) {
+            int i = toCreate.get(k);
+            UserResponseDTO response = dtoMapper.modelToResponseDto(saved.get(k));
+            response.setPassword(models.get(k).getPasswordEncrypted());
+            results[i] = BatchSignUpResultDTO.created(i, response);
+        }
+    }
+
+    private UserModel newUser(SignUpRequestDTO request, String passwordHash) {
+        UserModel model = dtoMapper.dtoToModel(request);
+        LocalDateTime now = LocalDateTime.now();
+        model.setCreated(now);
+        model.setLastLogin(now);
+        model.setId(idGenerator.nextId());
+        model.setIsActive(Boolean.TRUE);
+        model.setPasswordPlain(request.getPassword());
+        model.setPasswordEncrypted(passwordHash);
+        model.setToken(jwtService.generateToken(model.getEmail(), model.getId()));
+        return model;
+    }
+
+    private static void rejectAll(List<SignUpRequestDTO> requests, List<Integer> indexes, String detail,
+                                  BatchSignUpResultDTO[] results) {
+        for (int i : indexes) {
+            results[i] = BatchSignUpResultDTO.rejected(i, requests.get(i).getEmail(), detail);
+        }
+    }
+}
@@ -4,12 +4,19 @@ import com.local.bci.application.dto.UserResponseDTO;
 import com.local.bci.application.mapper.UserDtoModelMapper;
 import com.local.bci.application.usecase.LoginUseCase;
 import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.FindUserByIdPort;
 import com.local.bci.domain.port.persistence.FindUserByTokenPort;
-import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.UpdateLoginPort;
+import com.local.bci.infrastructure.exception.InvalidTokenException;
+import com.local.bci.infrastructure.exception.LoginConflictException;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.LoginStage;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.StageTimers;
 import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -18,33 +25,53 @@ import java.time.LocalDateTime;
  * <p>
  * Validates the token, retrieves the corresponding user, updates last login,
  * generates a new token, persists the user, and returns updated user data.
+ * The login update is a compare-and-set on the presented token, so no transaction
+ * or lock spans the lookup and the update: when two logins race on the same token
+ * only one of them rotates it.
+ * When {@link JwtService#tracksTokenIds()} is on and the token carries a user id, the
+ * user is loaded by primary key instead of by token, and once the update has
+ * rotated the token the presented one is revoked, so a replay is rejected by
+ * {@link JwtService#verify(String)} without reaching the store. A failed update
+ * leaves the presented token valid, since it is still the stored one.
+ * Rejections are the preallocated, stackless {@link InvalidTokenException} (400) and
+ * {@link LoginConflictException} (409) instances.
+ * Each stage is timed through {@link UseCaseMetrics} under {@code usecase=login}.
  * </p>
  */
 @Service
+@Profile("!reactive")
 @Slf4j
 public class LoginUseCaseImpl implements LoginUseCase {
 
     private final FindUserByTokenPort findUserByTokenPort;
-    private final SaveUserPort saveUserPort;
+    private final FindUserByIdPort findUserByIdPort;
+    private final UpdateLoginPort updateLoginPort;
     private final JwtService jwtService;
     private final UserDtoModelMapper dtoMapper;
+    private final StageTimers<LoginStage> stages;
 
     /**
      * Creates a new instance of the login use case implementation.
      *
      * @param findUserByTokenPort port to retrieve a user by token
-     * @param saveUserPort port to persist updated user data
+     * @param findUserByIdPort port to retrieve a user by id, for tokens carrying a user id
+     * @param updateLoginPort port to persist the refreshed last login and token
      * @param jwtService service to validate and generate JWT tokens
      * @param dtoMapper mapper for converting between models and DTOs
+     * @param metrics registry of the per-stage timers
      */
     public LoginUseCaseImpl(FindUserByTokenPort findUserByTokenPort,
-                            SaveUserPort saveUserPort,
+                            FindUserByIdPort findUserByIdPort,
+                            UpdateLoginPort updateLoginPort,
                             JwtService jwtService,
-                            UserDtoModelMapper dtoMapper) {
+                            UserDtoModelMapper dtoMapper,
+                            UseCaseMetrics metrics) {
         this.findUserByTokenPort = findUserByTokenPort;
-        this.saveUserPort = saveUserPort;
+        this.findUserByIdPort = findUserByIdPort;
+        this.updateLoginPort = updateLoginPort;
         this.jwtService = jwtService;
         this.dtoMapper = dtoMapper;
+        this.stages = metrics.register("login", LoginStage.class);
     }
 
     /**
@@ -52,43 +79,87 @@ public class LoginUseCaseImpl implements LoginUseCase {
      *
      * @param token JWT token provided by the client
      * @return a {@link UserResponseDTO} with refreshed token and user data
-     * @throws IllegalArgumentException if the token is invalid or mismatched
-     * @throws IllegalStateException if no user is found for the token
+     * @throws InvalidTokenException if the token is invalid or mismatched
+     * @throws LoginConflictException if no user is found for the token, it is inactive or the token was already used
      */
-    @Transactional
     @Override
     public UserResponseDTO apply(String token) {
         log.info("Login with token");
 
-        if (token == null || token.isBlank() || !jwtService.validateToken(token)) {
-            throw new IllegalArgumentException("Invalid token");
+        if (token == null || token.isBlank()) {
+            throw InvalidTokenException.INVALID_TOKEN;
         }
 
-        String subject = jwtService.getSubject(token);
-        if (subject == null || subject.isBlank()) {
-            throw new IllegalArgumentException("Invalid token subject");
-        }
+        long t = System.nanoTime();
+        TokenClaims claims = jwtService.verify(token)
+                .orElseThrow(() -> InvalidTokenException.INVALID_TOKEN);
+        t = stages.record(LoginStage.JWT_VERIFY, t);
 
-        UserModel userModel = findUserByTokenPort.findByToken(token)
-                .orElseThrow(() -> new IllegalStateException("User not found for token"));
+        String subject = subjectOf(claims);
 
-        if (!subject.equals(userModel.getEmail())) {
-            throw new IllegalArgumentException("Token subject mismatch");
-        }
+        boolean stateless = jwtService.tracksTokenIds() && claims.getUserId() != null;
+        UserModel userModel = (stateless
+                ? findUserByIdPort.findById(claims.getUserId()).filter(user -> token.equals(user.getToken()))
+                : findUserByTokenPort.findByToken(token))
+                .orElseThrow(() -> LoginConflictException.USER_NOT_FOUND);
+        t = stages.record(LoginStage.USER_LOOKUP, t);
 
-        if (!userModel.getIsActive()) {
-            throw new IllegalStateException("Cannot login inactive user");
-        }
+        checkCanLogin(subject, userModel);
 
         userModel.setLastLogin(LocalDateTime.now());
-        String newToken = jwtService.generateToken(userModel.getEmail());
+        String newToken = jwtService.generateToken(userModel.getEmail(), userModel.getId());
         userModel.setToken(newToken);
+        t = stages.record(LoginStage.JWT_SIGN, t);
 
-        UserModel saved = saveUserPort.apply(userModel);
+        if (updateLoginPort.updateLogin(userModel, token) == 0) {
+            throw LoginConflictException.TOKEN_ALREADY_USED;
+        }
+        if (stateless) {
+            jwtService.revoke(claims);
+        }
+        t = stages.record(LoginStage.PERSIST, t);
 
-        UserResponseDTO resp = dtoMapper.modelToResponseDto(saved);
-        resp.setPassword(saved.getPasswordEncrypted());
+        UserResponseDTO resp = toResponse(dtoMapper, userModel);
+        stages.record(LoginStage.MAPPING, t);
 
         return resp;
     }
+
+    /**
+     * @return the subject of verified claims
+     * @throws InvalidTokenException if the token has no subject
+     */
+    static String subjectOf(TokenClaims claims) {
+        String subject = claims.getSubject();
+        if (subject == null || subject.isBlank()) {
+            throw InvalidTokenException.INVALID_SUBJECT;
+        }
+        return subject;
+    }
+
+    /**
+     * Checks that the user found for a token is the token's subject and may log in.
+     * Shared with {@link ReactiveLoginUseCaseImpl}.
+     *
+     * @throws InvalidTokenException  if the user is not the subject of the token
+     * @throws LoginConflictException if the user is inactive
+     */
+    static void checkCanLogin(String subject, UserModel user) {
+        if (!subject.equals(user.getEmail())) {
+            throw InvalidTokenException.SUBJECT_MISMATCH;
+        }
+
+        if (!user.getIsActive()) {
+            throw LoginConflictException.INACTIVE_USER;
+        }
+    }
+
+    /**
+     * Maps a logged-in user to the login response, which carries the password hash.
+     */
+    static UserResponseDTO toResponse(UserDtoModelMapper dtoMapper, UserModel user) {
+        UserResponseDTO resp = dtoMapper.modelToResponseDto(user);
+        resp.setPassword(user.getPasswordEncrypted());
+        return resp;
+    }
 }
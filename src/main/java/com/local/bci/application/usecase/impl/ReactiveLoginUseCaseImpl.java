@@ -0,0 +1,79 @@
+package com.local.bci.application.usecase.impl;
+
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.usecase.ReactiveLoginUseCase;
+import com.local.bci.domain.port.reactive.ReactiveFindUserByTokenPort;
+import com.local.bci.domain.port.reactive.ReactiveUpdateLoginPort;
+import com.local.bci.infrastructure.exception.InvalidTokenException;
+import com.local.bci.infrastructure.exception.LoginConflictException;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of {@link ReactiveLoginUseCase} for the {@code reactive} profile.
+ * <p>
+ * Applies the same checks as {@link LoginUseCaseImpl}, which it shares, over the
+ * non-blocking ports: the token is verified, its user loaded by token, and the new
+ * token stored with a compare-and-set on the presented one, so a token can be used
+ * only once. Tokens are always resolved by token; the stateless by-id lookup of the
+ * servlet stack is not used here.
+ * </p>
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveLoginUseCaseImpl implements ReactiveLoginUseCase {
+
+    private final ReactiveFindUserByTokenPort findUserByTokenPort;
+    private final ReactiveUpdateLoginPort updateLoginPort;
+    private final JwtService jwtService;
+    private final UserDtoModelMapper dtoMapper;
+
+    public ReactiveLoginUseCaseImpl(ReactiveFindUserByTokenPort findUserByTokenPort,
+                                    ReactiveUpdateLoginPort updateLoginPort,
+                                    JwtService jwtService,
+                                    UserDtoModelMapper dtoMapper) {
+        this.findUserByTokenPort = findUserByTokenPort;
+        this.updateLoginPort = updateLoginPort;
+        this.jwtService = jwtService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * Processes a login request based on a JWT token.
+     *
+     * @param token JWT token provided by the client
+     * @return a {@link Mono} of the user with its refreshed token, failing with the same
+     *         exceptions as {@link LoginUseCaseImpl}
+     */
+    @Override
+    public Mono<UserResponseDTO> apply(String token) {
+        return Mono.defer(() -> {
+            log.info("Login with token");
+            if (token == null || token.isBlank()) {
+                throw InvalidTokenException.INVALID_TOKEN;
+            }
+            TokenClaims claims = jwtService.verify(token).orElseThrow(() -> InvalidTokenException.INVALID_TOKEN);
+            String subject = LoginUseCaseImpl.subjectOf(claims);
+
+            return findUserByTokenPort.findByToken(token)
+                    .switchIfEmpty(Mono.error(LoginConflictException.USER_NOT_FOUND))
+                    .flatMap(user -> {
+                        LoginUseCaseImpl.checkCanLogin(subject, user);
+                        user.setLastLogin(LocalDateTime.now());
+                        user.setToken(jwtService.generateToken(user.getEmail(), user.getId()));
+                        return updateLoginPort.updateLogin(user, token)
+                                .flatMap(updated -> updated == 0
+                                        ? Mono.error(LoginConflictException.TOKEN_ALREADY_USED)
+                                        : Mono.just(LoginUseCaseImpl.toResponse(dtoMapper, user)));
+                    });
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.local.bci.application.usecase.impl;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.usecase.ReactiveSignUpUseCase;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.domain.port.reactive.ReactiveCreateUserPort;
+import com.local.bci.domain.port.reactive.ReactiveExistsUserByEmailPort;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Implementation of {@link ReactiveSignUpUseCase} for the {@code reactive} profile.
+ * <p>
+ * Applies the same steps and rules as {@link SignUpUseCaseImpl} (it shares its
+ * validator, model construction and response mapping) over the non-blocking ports.
+ * The BCrypt hash runs on the bounded pool of {@link PasswordHashingExecutor} and
+ * the flow resumes on the parallel scheduler, so no event-loop thread ever blocks.
+ * There is no per-email lock: concurrent duplicates are settled by the unique
+ * constraint behind {@link ReactiveCreateUserPort}.
+ * </p>
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveSignUpUseCaseImpl implements ReactiveSignUpUseCase {
+
+    private final UserDtoModelMapper dtoMapper;
+    private final ReactiveCreateUserPort createUserPort;
+    private final ReactiveExistsUserByEmailPort existsUserByEmailPort;
+    private final IdGeneratorPort idGenerator;
+    private final PasswordHashingExecutor passwordHasher;
+    private final JwtService jwtService;
+    private final SignUpRequestValidator requestValidator;
+
+    public ReactiveSignUpUseCaseImpl(UserDtoModelMapper dtoMapper,
+                                     ReactiveCreateUserPort createUserPort,
+                                     ReactiveExistsUserByEmailPort existsUserByEmailPort,
+                                     IdGeneratorPort idGenerator,
+                                     PasswordHashingExecutor passwordHasher,
+                                     JwtService jwtService,
+                                     SignUpRequestValidator requestValidator) {
+        this.dtoMapper = dtoMapper;
+        this.createUserPort = createUserPort;
+        this.existsUserByEmailPort = existsUserByEmailPort;
+        this.idGenerator = idGenerator;
+        this.passwordHasher = passwordHasher;
+        this.jwtService = jwtService;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Registers a user.
+     *
+     * @param request DTO containing user registration details
+     * @return a {@link Mono} of the registered user, failing with the same exceptions as {@link SignUpUseCaseImpl}
+     */
+    @Override
+    public Mono<UserResponseDTO> apply(SignUpRequestDTO request) {
+        return Mono.defer(() -> {
+            log.info("SignUp request for email={}", request.getEmail());
+            requestValidator.validate(request);
+            UserModel model = SignUpUseCaseImpl.newUser(dtoMapper, idGenerator, request);
+
+            return existsUserByEmailPort.existsByEmail(request.getEmail())
+                    .flatMap(exists -> exists
+                            ? Mono.<String>error(UserExistsException.INSTANCE)
+                            : Mono.fromFuture(passwordHasher.encodeAsync(request.getPassword())))
+                    .publishOn(Schedulers.parallel())
+                    .flatMap(passwordEncrypted -> {
+                        model.setPasswordEncrypted(passwordEncrypted);
+                        model.setToken(jwtService.generateToken(model.getEmail(), model.getId()));
+                        return createUserPort.create(model);
+                    })
+                    .map(saved -> SignUpUseCaseImpl.toResponse(dtoMapper, saved, model.getPasswordEncrypted()));
+        });
+    }
+}
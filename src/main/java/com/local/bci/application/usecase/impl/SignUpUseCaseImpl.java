@@ -4,67 +4,86 @@ import com.local.bci.application.dto.SignUpRequestDTO;
 import com.local.bci.application.dto.UserResponseDTO;
 import com.local.bci.application.mapper.UserDtoModelMapper;
 import com.local.bci.application.usecase.SingUpUseCase;
+import com.local.bci.application.validation.SignUpRequestValidator;
 import com.local.bci.domain.model.UserModel;
-import com.local.bci.domain.port.persistence.FindUserByEmailPort;
-import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.CreateUserPort;
+import com.local.bci.domain.port.persistence.EmailMembershipPort;
+import com.local.bci.domain.port.persistence.ExistsUserByEmailPort;
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.infrastructure.concurrency.EmailLocks;
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
 import com.local.bci.infrastructure.exception.IncorrectPatternException;
+import com.local.bci.infrastructure.exception.PasswordHashingException;
 import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.SignUpStage;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.StageTimers;
 import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Implementation of {@link SingUpUseCase} that manages user registration.
  * <p>
  * Validates the email and password format, ensures the user does not already exist,
- * maps the DTO to the domain model, encrypts the password, generates a JWT token,
- * saves the user, and returns a response DTO.
+ * maps the DTO to the domain model with an id from {@link IdGeneratorPort}, encrypts the password, generates a JWT token,
+ * saves the user, and returns a response DTO. The existence check only queries the
+ * database when the {@link EmailMembershipPort} reports the email as possibly taken.
+ * </p>
+ * <p>
+ * The user is inserted optimistically through {@link CreateUserPort}, which turns a
+ * unique-email violation into {@link UserExistsException}, so two concurrent sign-ups
+ * for the same email can never both succeed. Within this instance, requests for the
+ * same email are serialized on {@link EmailLocks} until the insert has committed: a
+ * duplicate then fails on the existence check instead of paying for a password hash
+ * and a rejected insert.
+ * </p>
+ * <p>
+ * Each stage is timed through {@link UseCaseMetrics} under {@code usecase=sign-up}.
  * </p>
  */
 @Service
+@Profile("!reactive")
 @Slf4j
 public class SignUpUseCaseImpl implements SingUpUseCase {
 
     private final UserDtoModelMapper dtoMapper;
 
-    private final SaveUserPort saveUserPort;
+    private final CreateUserPort createUserPort;
+
+    private final ExistsUserByEmailPort existsUserByEmailPort;
+
+    private final EmailMembershipPort emailMembershipPort;
 
-    private final FindUserByEmailPort findUserByEmailPort;
+    private final IdGeneratorPort idGenerator;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
 
     private final JwtService jwtService;
 
-    @Value("${app.regex.email}")
-    private String emailRegex;
+    private final SignUpRequestValidator requestValidator;
 
-    @Value("${app.regex.password}")
-    private String passwordRegex;
+    private final EmailLocks emailLocks;
 
-    private Pattern emailPattern;
-    private Pattern passwordPattern;
+    private final StageTimers<SignUpStage> stages;
 
-    public SignUpUseCaseImpl(UserDtoModelMapper dtoMapper, SaveUserPort saveUserPort, FindUserByEmailPort findUserByEmailPort, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public SignUpUseCaseImpl(UserDtoModelMapper dtoMapper, CreateUserPort createUserPort, ExistsUserByEmailPort existsUserByEmailPort, EmailMembershipPort emailMembershipPort, IdGeneratorPort idGenerator, PasswordHashingExecutor passwordHasher, JwtService jwtService, SignUpRequestValidator requestValidator, EmailLocks emailLocks, UseCaseMetrics metrics) {
         this.dtoMapper = dtoMapper;
-        this.saveUserPort = saveUserPort;
-        this.findUserByEmailPort = findUserByEmailPort;
-        this.passwordEncoder = passwordEncoder;
+        this.createUserPort = createUserPort;
+        this.existsUserByEmailPort = existsUserByEmailPort;
+        this.emailMembershipPort = emailMembershipPort;
+        this.idGenerator = idGenerator;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
-    }
-
-    @PostConstruct
-    private void initPatterns() {
-        emailPattern = Pattern.compile(emailRegex);
-        passwordPattern = Pattern.compile(passwordRegex);
+        this.requestValidator = requestValidator;
+        this.emailLocks = emailLocks;
+        this.stages = metrics.register("sign-up", SignUpStage.class);
     }
 
     /**
@@ -73,43 +92,75 @@ public class SignUpUseCaseImpl implements SingUpUseCase {
      *
      * @param request DTO containing user registration details
      * @return a {@link UserResponseDTO} with user information and token
-     * @throws IllegalArgumentException if email or password format is invalid
-     * @throws IllegalStateException    if a user with the same email already exists
+     * @throws IncorrectPatternException        if the email or password format is invalid
+     * @throws UserExistsException              if a user with the same email already exists;
+     *                                          always the preallocated {@link UserExistsException#INSTANCE}
+     * @throws HashingCapacityExceededException if the password hashing queue is full
+     * @throws PasswordHashingException         if hashing the password fails
+     * @throws UserPersistenceException         if the user cannot be saved
      */
-    @Transactional
     @Override
     public UserResponseDTO apply(SignUpRequestDTO request) {
         log.info("SignUp request for email={}", request.getEmail());
 
-        if (request.getEmail() == null || !emailPattern.matcher(request.getEmail()).matches()) {
-            throw new IncorrectPatternException("Invalid email format");
+        long t = System.nanoTime();
+        requestValidator.validate(request);
+        t = stages.record(SignUpStage.VALIDATION, t);
+
+        Lock emailLock = emailLocks.lockFor(request.getEmail());
+        emailLock.lock();
+        t = stages.record(SignUpStage.LOCK_WAIT, t);
+        UserModel model;
+        UserModel saved;
+        try {
+            boolean exists = emailMembershipPort.mightExist(request.getEmail())
+                    && existsUserByEmailPort.existsByEmail(request.getEmail());
+            t = stages.record(SignUpStage.EMAIL_LOOKUP, t);
+            if (exists) {
+                throw UserExistsException.INSTANCE;
+            }
+
+            model = newUser(dtoMapper, idGenerator, request);
+            t = stages.record(SignUpStage.MAPPING, t);
+
+            model.setPasswordEncrypted(passwordHasher.encode(request.getPassword()));
+            t = stages.record(SignUpStage.PASSWORD_HASH, t);
+
+            String token = jwtService.generateToken(model.getEmail(), model.getId());
+            model.setToken(token);
+            t = stages.record(SignUpStage.JWT_SIGN, t);
+
+            saved = createUserPort.create(model);
+            t = stages.record(SignUpStage.PERSIST, t);
+        } finally {
+            emailLock.unlock();
         }
 
-        if (request.getPassword() == null || !passwordPattern.matcher(request.getPassword()).matches()) {
-            throw new IncorrectPatternException("Invalid password format");
-        }
-
-        Optional<UserModel> existing = findUserByEmailPort.findByEmail(request.getEmail());
-        if (existing.isPresent()) {
-            throw new UserExistsException("User already exists");
-        }
+        UserResponseDTO response = toResponse(dtoMapper, saved, model.getPasswordEncrypted());
+        stages.record(SignUpStage.MAPPING, t);
+        return response;
+    }
 
+    /**
+     * Builds the model of a new active user from a validated request, without the
+     * password hash and the token. Shared with {@link ReactiveSignUpUseCaseImpl}.
+     */
+    static UserModel newUser(UserDtoModelMapper dtoMapper, IdGeneratorPort idGenerator, SignUpRequestDTO request) {
         UserModel model = dtoMapper.dtoToModel(request);
         model.setCreated(LocalDateTime.now());
         model.setLastLogin(LocalDateTime.now());
-        model.setId(UUID.randomUUID());
+        model.setId(idGenerator.nextId());
         model.setIsActive(Boolean.TRUE);
-
         model.setPasswordPlain(request.getPassword());
-        model.setPasswordEncrypted(passwordEncoder.encode(request.getPassword()));
-
-        String token = jwtService.generateToken(model.getEmail());
-        model.setToken(token);
-
-        UserModel saved = saveUserPort.apply(model);
+        return model;
+    }
 
+    /**
+     * Maps a saved user to the sign-up response, which carries the password hash.
+     */
+    static UserResponseDTO toResponse(UserDtoModelMapper dtoMapper, UserModel saved, String passwordEncrypted) {
         UserResponseDTO response = dtoMapper.modelToResponseDto(saved);
-        response.setPassword(model.getPasswordEncrypted());
+        response.setPassword(passwordEncrypted);
         return response;
     }
 }
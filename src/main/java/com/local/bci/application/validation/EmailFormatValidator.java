@@ -0,0 +1,64 @@
+package com.local.bci.application.validation;
+
+/**
+ * Single-pass, allocation-free equivalent of the default {@code app.regex.email}
+ * pattern {@value #REGEX}.
+ * <p>
+ * The value is one or more local-part characters ({@code A-Z a-z 0-9 . _ % + -}),
+ * a single {@code @}, and a domain of {@code A-Z a-z 0-9 . -} whose last dot has
+ * at least one character before it and two to six letters after it.
+ * </p>
+ */
+public final class EmailFormatValidator implements FormatValidator {
+
+    public static final String REGEX = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$";
+
+    public static final EmailFormatValidator INSTANCE = new EmailFormatValidator();
+
+    private static final int MIN_TLD = 2;
+    private static final int MAX_TLD = 6;
+
+    private EmailFormatValidator() {
+    }
+
+    @Override
+    public boolean isValid(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        while (i < length && isLocalChar(value.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == length || value.charAt(i) != '@') {
+            return false;
+        }
+        int domainStart = ++i;
+        int lastDot = -1;
+        boolean lettersOnly = true;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+                lettersOnly = true;
+            } else if ((c >= '0' && c <= '9') || c == '-') {
+                lettersOnly = false;
+            } else if (!isLetter(c)) {
+                return false;
+            }
+        }
+        int tld = length - lastDot - 1;
+        return lastDot > domainStart && lettersOnly && tld >= MIN_TLD && tld <= MAX_TLD;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    @Override
+    public String toString() {
+        return "hand-written " + REGEX;
+    }
+}
@@ -0,0 +1,21 @@
+package com.local.bci.application.validation;
+
+/**
+ * Checks whether a value has the expected format.
+ * <p>
+ * Implementations are either hand-written single-pass scanners for the default
+ * patterns ({@link EmailFormatValidator}, {@link PasswordFormatValidator}) or
+ * {@link RegexFormatValidator} for any other configured pattern.
+ * </p>
+ */
+@FunctionalInterface
+public interface FormatValidator {
+
+    /**
+     * Tells whether the whole value has the expected format.
+     *
+     * @param value the value to check, never null
+     * @return true if the value is valid
+     */
+    boolean isValid(CharSequence value);
+}
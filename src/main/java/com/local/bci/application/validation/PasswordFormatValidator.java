@@ -0,0 +1,56 @@
+package com.local.bci.application.validation;
+
+/**
+ * Single-pass, allocation-free equivalent of the default {@code app.regex.password}
+ * pattern {@value #REGEX}.
+ * <p>
+ * The value is 8 to 12 ASCII letters and digits with exactly one uppercase letter
+ * and exactly two digits. Unlike the pattern, whose lookaheads each rescan the input,
+ * the value is read once and rejected at the first character that breaks a rule.
+ * </p>
+ */
+public final class PasswordFormatValidator implements FormatValidator {
+
+    public static final String REGEX =
+            "^(?=.{8,12}$)(?=[^A-Z]*[A-Z][^A-Z]*$)(?=[^0-9]*[0-9][^0-9]*[0-9][^0-9]*$)[A-Za-z0-9]+$";
+
+    public static final PasswordFormatValidator INSTANCE = new PasswordFormatValidator();
+
+    private static final int MIN_LENGTH = 8;
+    private static final int MAX_LENGTH = 12;
+    private static final int UPPERCASE = 1;
+    private static final int DIGITS = 2;
+
+    private PasswordFormatValidator() {
+    }
+
+    @Override
+    public boolean isValid(CharSequence value) {
+        int length = value.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+        int uppercase = 0;
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (++uppercase > UPPERCASE) {
+                    return false;
+                }
+            } else if (c >= '0' && c <= '9') {
+                if (++digits > DIGITS) {
+                    return false;
+                }
+            } else if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return uppercase == UPPERCASE && digits == DIGITS;
+    }
+
+    @Override
+    public String toString() {
+        return "hand-written " + REGEX;
+    }
+}
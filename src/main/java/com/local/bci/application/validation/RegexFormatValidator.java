@@ -0,0 +1,25 @@
+package com.local.bci.application.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@link FormatValidator} backed by a regular expression that must match the whole value.
+ */
+public final class RegexFormatValidator implements FormatValidator {
+
+    private final Pattern pattern;
+
+    public RegexFormatValidator(String regex) {
+        this.pattern = Pattern.compile(regex);
+    }
+
+    @Override
+    public boolean isValid(CharSequence value) {
+        return pattern.matcher(value).matches();
+    }
+
+    @Override
+    public String toString() {
+        return "regex " + pattern.pattern();
+    }
+}
@@ -0,0 +1,125 @@
+package com.local.bci.application.validation;
+
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.domain.model.UserLimits;
+import com.local.bci.infrastructure.exception.IncorrectPatternException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the email and password of sign-up requests against the
+ * {@code app.regex.email} and {@code app.regex.password} patterns.
+ * <p>
+ * Shared by the single and batch sign-up use cases so both apply the same rules,
+ * and the only place where these fields are validated. With the {@code auto}
+ * engine (the default) a pattern left at its default value is checked by its
+ * hand-written {@link FormatValidator}, and any other pattern by
+ * {@link RegexFormatValidator}; the {@code regex} engine always uses the patterns.
+ * </p>
+ * <p>
+ * When the user store publishes {@link UserLimits}, as the off-heap store does, the
+ * name, email and phones are also checked against them, so that a user the store
+ * cannot hold is rejected as invalid rather than failing on write.
+ * </p>
+ */
+@Component
+@Slf4j
+public class SignUpRequestValidator {
+
+    public static final String AUTO_ENGINE = "auto";
+    public static final String REGEX_ENGINE = "regex";
+
+    private final FormatValidator emailValidator;
+    private final FormatValidator passwordValidator;
+    private final UserLimits limits;
+
+    public SignUpRequestValidator(String emailRegex, String passwordRegex) {
+        this(emailRegex, passwordRegex, AUTO_ENGINE);
+    }
+
+    public SignUpRequestValidator(String emailRegex, String passwordRegex, String engine) {
+        this(emailRegex, passwordRegex, engine, UserLimits.UNBOUNDED);
+    }
+
+    @Autowired
+    public SignUpRequestValidator(@Value("${app.regex.email}") String emailRegex,
+                                  @Value("${app.regex.password}") String passwordRegex,
+                                  @Value("${app.validation.engine:auto}") String engine,
+                                  ObjectProvider<UserLimits> limits) {
+        this(emailRegex, passwordRegex, engine, limits.getIfAvailable(() -> UserLimits.UNBOUNDED));
+    }
+
+    public SignUpRequestValidator(String emailRegex, String passwordRegex, String engine, UserLimits limits) {
+        if (!AUTO_ENGINE.equals(engine) && !REGEX_ENGINE.equals(engine)) {
+            throw new IllegalArgumentException("Unsupported app.validation.engine " + engine);
+        }
+        boolean auto = AUTO_ENGINE.equals(engine);
+        this.emailValidator = auto && EmailFormatValidator.REGEX.equals(emailRegex)
+                ? EmailFormatValidator.INSTANCE
+                : new RegexFormatValidator(emailRegex);
+        this.passwordValidator = auto && PasswordFormatValidator.REGEX.equals(passwordRegex)
+                ? PasswordFormatValidator.INSTANCE
+                : new RegexFormatValidator(passwordRegex);
+        this.limits = limits;
+        log.info("Validating emails with {} and passwords with {}", emailValidator, passwordValidator);
+    }
+
+    /**
+     * Checks the email and password format of a sign-up request.
+     *
+     * @param request the sign-up request
+     * @throws IncorrectPatternException if the email or the password does not match its pattern,
+     *                                   or a field exceeds the limits of the user store
+     */
+    public void validate(SignUpRequestDTO request) {
+        if (request.getEmail() == null || !emailValidator.isValid(request.getEmail())) {
+            throw IncorrectPatternException.INVALID_EMAIL;
+        }
+
+        if (request.getPassword() == null || !passwordValidator.isValid(request.getPassword())) {
+            throw IncorrectPatternException.INVALID_PASSWORD;
+        }
+
+        if (limits != UserLimits.UNBOUNDED) {
+            checkLimits(request);
+        }
+    }
+
+    private void checkLimits(SignUpRequestDTO request) {
+        if (utf8Length(request.getEmail()) > limits.getMaxEmailBytes()) {
+            throw IncorrectPatternException.EMAIL_TOO_LONG;
+        }
+        if (request.getName() != null && utf8Length(request.getName()) > limits.getMaxNameBytes()) {
+            throw IncorrectPatternException.NAME_TOO_LONG;
+        }
+        if (request.getPhones() == null) {
+            return;
+        }
+        if (request.getPhones().size() > limits.getMaxPhones()) {
+            throw IncorrectPatternException.TOO_MANY_PHONES;
+        }
+        for (PhoneDTO phone : request.getPhones()) {
+            if (phone != null && phone.getCountryCode() != null
+                    && utf8Length(phone.getCountryCode()) > limits.getMaxCountryCodeBytes()) {
+                throw IncorrectPatternException.COUNTRY_CODE_TOO_LONG;
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
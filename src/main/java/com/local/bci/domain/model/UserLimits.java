@@ -0,0 +1,43 @@
+package com.local.bci.domain.model;
+
+/**
+ * Largest user a user store can hold.
+ * <p>
+ * Stores with fixed-size records publish their limits so that sign-up requests
+ * exceeding them are rejected as invalid instead of failing on write. Sizes are
+ * counted in UTF-8 bytes.
+ * </p>
+ */
+public final class UserLimits {
+
+    public static final UserLimits UNBOUNDED =
+            new UserLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int maxPhones;
+    private final int maxNameBytes;
+    private final int maxEmailBytes;
+    private final int maxCountryCodeBytes;
+
+    public UserLimits(int maxPhones, int maxNameBytes, int maxEmailBytes, int maxCountryCodeBytes) {
+        this.maxPhones = maxPhones;
+        this.maxNameBytes = maxNameBytes;
+        this.maxEmailBytes = maxEmailBytes;
+        this.maxCountryCodeBytes = maxCountryCodeBytes;
+    }
+
+    public int getMaxPhones() {
+        return maxPhones;
+    }
+
+    public int getMaxNameBytes() {
+        return maxNameBytes;
+    }
+
+    public int getMaxEmailBytes() {
+        return maxEmailBytes;
+    }
+
+    public int getMaxCountryCodeBytes() {
+        return maxCountryCodeBytes;
+    }
+}
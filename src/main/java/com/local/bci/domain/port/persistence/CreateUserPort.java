@@ -0,0 +1,12 @@
+package com.local.bci.domain.port.persistence;
+
+import com.local.bci.domain.model.UserModel;
+
+/**
+ * Inserts a new user without checking for an existing one first.
+ * Implementations report a duplicate email as a {@code UserExistsException}.
+ */
+@FunctionalInterface
+public interface CreateUserPort {
+    UserModel create(UserModel user);
+}
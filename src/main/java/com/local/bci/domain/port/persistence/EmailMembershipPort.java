@@ -0,0 +1,14 @@
+package com.local.bci.domain.port.persistence;
+
+/**
+ * Fast, approximate membership check for registered emails.
+ * <p>
+ * A {@code false} answer is definitive: the email is not registered and the
+ * caller may skip the database lookup. A {@code true} answer only means the
+ * email may be registered and must be confirmed against the store.
+ * </p>
+ */
+@FunctionalInterface
+public interface EmailMembershipPort {
+    boolean mightExist(String email);
+}
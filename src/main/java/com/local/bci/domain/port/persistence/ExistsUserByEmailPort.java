@@ -0,0 +1,9 @@
+package com.local.bci.domain.port.persistence;
+
+/**
+ * Port to check whether an email is already registered without loading the user.
+ */
+@FunctionalInterface
+public interface ExistsUserByEmailPort {
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,9 @@
+package com.local.bci.domain.port.persistence;
+
+import java.util.Collection;
+import java.util.Set;
+
+@FunctionalInterface
+public interface FindExistingEmailsPort {
+    Set<String> findExistingEmails(Collection<String> emails);
+}
@@ -0,0 +1,11 @@
+package com.local.bci.domain.port.persistence;
+
+import com.local.bci.domain.model.UserModel;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@FunctionalInterface
+public interface FindUserByIdPort {
+    Optional<UserModel> findById(UUID id);
+}
@@ -0,0 +1,15 @@
+package com.local.bci.domain.port.persistence;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for new users.
+ * <p>
+ * Implementations must be thread-safe and never return the same id twice within
+ * the process.
+ * </p>
+ */
+@FunctionalInterface
+public interface IdGeneratorPort {
+    UUID nextId();
+}
@@ -0,0 +1,8 @@
+package com.local.bci.domain.port.persistence;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface ListUserEmailsPort {
+    void forEachEmail(Consumer<String> action);
+}
@@ -0,0 +1,10 @@
+package com.local.bci.domain.port.persistence;
+
+import com.local.bci.domain.model.UserModel;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface SaveUsersPort {
+    List<UserModel> saveAll(List<UserModel> users);
+}
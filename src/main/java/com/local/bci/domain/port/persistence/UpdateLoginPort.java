@@ -0,0 +1,22 @@
+package com.local.bci.domain.port.persistence;
+
+import com.local.bci.domain.model.UserModel;
+
+/**
+ * Port to persist the refreshed last login date and token of a user.
+ * <p>
+ * The update is a compare-and-set on the token: it only applies while the stored
+ * token is still {@code previousToken}, so two logins with the same token cannot
+ * both succeed.
+ * </p>
+ */
+@FunctionalInterface
+public interface UpdateLoginPort {
+
+    /**
+     * @param user          user carrying the new last login and token
+     * @param previousToken token the user logged in with
+     * @return the number of users updated: 1, or 0 if the user no longer holds {@code previousToken}
+     */
+    int updateLogin(UserModel user, String previousToken);
+}
@@ -0,0 +1,14 @@
+package com.local.bci.domain.port.reactive;
+
+import com.local.bci.domain.model.UserModel;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code CreateUserPort}: inserts a new user without
+ * checking for an existing one first. A duplicate email is signalled as a
+ * {@code UserExistsException}.
+ */
+@FunctionalInterface
+public interface ReactiveCreateUserPort {
+    Mono<UserModel> create(UserModel user);
+}
@@ -0,0 +1,11 @@
+package com.local.bci.domain.port.reactive;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code ExistsUserByEmailPort}.
+ */
+@FunctionalInterface
+public interface ReactiveExistsUserByEmailPort {
+    Mono<Boolean> existsByEmail(String email);
+}
@@ -0,0 +1,13 @@
+package com.local.bci.domain.port.reactive;
+
+import com.local.bci.domain.model.UserModel;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code FindUserByTokenPort}; completes empty when no
+ * user holds the token.
+ */
+@FunctionalInterface
+public interface ReactiveFindUserByTokenPort {
+    Mono<UserModel> findByToken(String token);
+}
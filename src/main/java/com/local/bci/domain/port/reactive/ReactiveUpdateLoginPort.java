@@ -0,0 +1,19 @@
+package com.local.bci.domain.port.reactive;
+
+import com.local.bci.domain.model.UserModel;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code UpdateLoginPort}: a compare-and-set of the
+ * last login and token on the token the user logged in with.
+ */
+@FunctionalInterface
+public interface ReactiveUpdateLoginPort {
+
+    /**
+     * @param user          user carrying the new last login and token
+     * @param previousToken token the user logged in with
+     * @return the number of users updated: 1, or 0 if the user no longer holds {@code previousToken}
+     */
+    Mono<Integer> updateLogin(UserModel user, String previousToken);
+}
@@ -0,0 +1,53 @@
+package com.local.bci.infrastructure.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks striped by email hash.
+ * <p>
+ * Requests for the same email always map to the same lock, so they run one at a
+ * time inside this process; unrelated emails only contend when they share a stripe.
+ * Memory stays constant regardless of how many emails are seen. The locks only
+ * serialize work within one instance: the unique constraint on {@code users.email}
+ * remains the guarantee across instances.
+ * </p>
+ */
+@Component
+public class EmailLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes number of locks, rounded up to a power of two
+     */
+    public EmailLocks(@Value("${app.sign-up.lock-stripes:1024}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Lock stripes must be positive");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        size = Math.max(1, size);
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the lock guarding {@code email}
+     */
+    public Lock lockFor(String email) {
+        int h = email == null ? 0 : email.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & mask];
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+}
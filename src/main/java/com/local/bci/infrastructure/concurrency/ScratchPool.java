@@ -0,0 +1,54 @@
+package com.local.bci.infrastructure.concurrency;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Reusable per-call state, such as a {@code Mac} and its buffers, handed out without
+ * sharing it between concurrent callers.
+ * <p>
+ * Platform threads keep one instance each in a {@link ThreadLocal}, as long-lived
+ * pool threads amortize it. Virtual threads are created per request, so a
+ * thread-local instance would be built and dropped on every call; they borrow one
+ * from a bounded queue instead and return it in {@link #release(Object)}. Instances
+ * must be released by the thread that acquired them, and must not be held across a
+ * blocking call.
+ * </p>
+ *
+ * @param <T> type of the pooled state
+ */
+public final class ScratchPool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> platform;
+    private final ArrayBlockingQueue<T> shared;
+
+    /**
+     * @param factory creates a new instance when none is available
+     */
+    public ScratchPool(Supplier<T> factory) {
+        this.factory = factory;
+        this.platform = ThreadLocal.withInitial(factory);
+        this.shared = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @return an instance for the exclusive use of the calling thread until {@link #release(Object)}
+     */
+    public T acquire() {
+        if (!VirtualThreads.isVirtual(Thread.currentThread())) {
+            return platform.get();
+        }
+        T instance = shared.poll();
+        return instance != null ? instance : factory.get();
+    }
+
+    /**
+     * Gives back an instance obtained from {@link #acquire()} on the same thread.
+     */
+    public void release(T instance) {
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            shared.offer(instance);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.local.bci.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.local.bci.infrastructure.persistence.entity.PhoneEntity;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.SharedCacheMode;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Enables the Hibernate second-level cache when {@code app.cache.hibernate.enabled} is set.
+ * <p>
+ * The cache is JCache backed by Caffeine, with one bounded region per cached mapping:
+ * {@value UserEntity#CACHE_REGION} (users by id), {@value UserEntity#NATURAL_ID_CACHE_REGION}
+ * (email to id), {@value UserEntity#PHONES_CACHE_REGION} (phone ids of a user) and
+ * {@value PhoneEntity#CACHE_REGION}. Each region holds at most
+ * {@code app.cache.hibernate.maximum-size} entries for {@code app.cache.hibernate.ttl}
+ * after they are written, both overridable per region under
+ * {@code app.cache.hibernate.regions.<region>}. The regions are created here, and
+ * Hibernate fails to start if a mapping names any other region, so no cache runs
+ * with unbounded defaults.
+ * </p>
+ * <p>
+ * Entries are stored by reference rather than copied on every read and write. With
+ * {@code app.cache.hibernate.statistics} Hibernate keeps per-region hit, miss and put
+ * counts, which are published as {@code hibernate.second.level.cache.*} metrics.
+ * </p>
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.cache.hibernate.enabled", havingValue = "true")
+@Slf4j
+public class HibernateCacheConfig {
+
+    public static final List<String> REGIONS = List.of(UserEntity.CACHE_REGION,
+            UserEntity.NATURAL_ID_CACHE_REGION, UserEntity.PHONES_CACHE_REGION, PhoneEntity.CACHE_REGION);
+
+    private static final String REGION_PREFIX = "app.cache.hibernate.regions.";
+
+    /**
+     * Creates the cache manager holding the regions. It is private to this context,
+     * and Hibernate closes it with the entity manager factory.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment,
+                                              @Value("${app.cache.hibernate.maximum-size:10000}") long maximumSize,
+                                              @Value("${app.cache.hibernate.ttl:10m}") Duration ttl,
+                                              @Value("${app.cache.hibernate.statistics:true}") boolean statistics) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + ObjectUtils.getIdentityHexString(this)),
+                        HibernateCacheConfig.class.getClassLoader());
+        for (String region : REGIONS) {
+            long regionSize = environment.getProperty(REGION_PREFIX + region + ".maximum-size", Long.class, maximumSize);
+            Duration regionTtl = environment.getProperty(REGION_PREFIX + region + ".ttl", Duration.class, ttl);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(regionSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(regionTtl.toNanos()));
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(statistics);
+            cacheManager.createCache(region, configuration);
+            log.info("Second-level cache region {}: maximum {} entries, ttl {}", region, regionSize, regionTtl);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            @Value("${app.cache.hibernate.statistics:true}") boolean statistics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            if (statistics) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.infrastructure.persistence.id.RandomIdGenerator;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the user id generator.
+ * <p>
+ * {@code app.persistence.id-generator} is {@code uuid-v7} (the default), time-ordered
+ * ids that keep primary key inserts close to each other, or {@code random}, the
+ * version 4 UUIDs used before.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    static final String UUID_V7 = "uuid-v7";
+    static final String RANDOM = "random";
+
+    @Bean
+    public IdGeneratorPort idGenerator(@Value("${app.persistence.id-generator:" + UUID_V7 + "}") String generator) {
+        log.info("Generating user ids with {}", generator);
+        if (UUID_V7.equals(generator)) {
+            return new UuidV7Generator();
+        }
+        if (RANDOM.equals(generator)) {
+            return new RandomIdGenerator();
+        }
+        throw new IllegalArgumentException("Unsupported app.persistence.id-generator " + generator);
+    }
+}
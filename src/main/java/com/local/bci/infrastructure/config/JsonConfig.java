@@ -0,0 +1,42 @@
+package com.local.bci.infrastructure.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson setup of the HTTP responses.
+ * <p>
+ * With {@code app.json.blackbird} (the default) the {@link BlackbirdModule} is
+ * registered in the application {@code ObjectMapper}: property accessors are bound
+ * through generated lambdas instead of reflective calls. Responses can also be
+ * negotiated as Smile, a binary JSON encoding, by sending
+ * {@code Accept: application/x-jackson-smile}; the Smile mapper is built from the
+ * same Spring Boot builder, so it carries the same modules and date settings.
+ * </p>
+ */
+@Configuration
+public class JsonConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Replaces the Smile converter Spring MVC registers on its own, which is built
+     * without the Spring Boot Jackson customizations.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,123 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.infrastructure.security.Es256JwtCodec;
+import com.local.bci.infrastructure.security.Hs256JwtCodec;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenDenylist;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the {@link JwtService} for the configured signing algorithm.
+ * <p>
+ * {@code HS256} (the default) signs with {@code app.jwt.secret}. {@code ES256} signs
+ * with the key pair {@code app.jwt.es256.private-key} / {@code public-key} (base64 or
+ * PEM, PKCS#8 and X.509) identified by {@code app.jwt.es256.kid}; retired public keys
+ * listed in {@code app.jwt.es256.public-keys} as {@code kid=key} pairs keep verifying
+ * the tokens they signed. With {@code app.jwt.accept-hs256} HS256 tokens issued before
+ * the switch are still accepted until they expire.
+ * </p>
+ * <p>
+ * With {@code app.login.stateless.enabled} tokens carry a token id and the user id, and
+ * the tokens replaced at login are kept in a {@link TokenDenylist} until they expire.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class JwtConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.login.stateless.enabled", havingValue = "true")
+    public TokenDenylist tokenDenylist(
+            MeterRegistry meterRegistry,
+            @Value("${app.login.stateless.denylist-capacity:100000}") int capacity,
+            @Value("${app.login.stateless.sweep-interval:30s}") Duration sweepInterval) {
+        log.info("Stateless login enabled, token denylist capacity {}", capacity);
+        return new TokenDenylist(capacity, sweepInterval, meterRegistry);
+    }
+
+    @Bean
+    public JwtService jwtService(
+            ObjectProvider<TokenDenylist> denylist,
+            @Value("${app.jwt.algorithm:HS256}") String algorithm,
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.jwt.accept-hs256:true}") boolean acceptHs256,
+            @Value("${app.jwt.es256.kid:}") String keyId,
+            @Value("${app.jwt.es256.private-key:}") String privateKey,
+            @Value("${app.jwt.es256.public-key:}") String publicKey,
+            @Value("${app.jwt.es256.public-keys:}") String retiredKeys) throws GeneralSecurityException {
+        if ("HS256".equalsIgnoreCase(algorithm)) {
+            log.info("Signing tokens with HS256");
+            return new JwtService(new Hs256JwtCodec(secret), null, denylist.getIfAvailable(), expirationMs);
+        }
+        if (!"ES256".equalsIgnoreCase(algorithm)) {
+            throw new IllegalStateException("Unsupported app.jwt.algorithm " + algorithm);
+        }
+
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        PrivateKey signingKey;
+        PublicKey verificationKey;
+        if (privateKey.isBlank()) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            signingKey = pair.getPrivate();
+            verificationKey = pair.getPublic();
+            keyId = keyId.isBlank() ? UUID.randomUUID().toString() : keyId;
+            log.warn("No app.jwt.es256.private-key configured, signing with an ephemeral key (kid {}); "
+                    + "tokens will not survive a restart", keyId);
+        } else {
+            if (keyId.isBlank() || publicKey.isBlank()) {
+                throw new IllegalStateException("app.jwt.es256.kid and app.jwt.es256.public-key are required "
+                        + "with app.jwt.es256.private-key");
+            }
+            signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodeKey(privateKey)));
+            verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodeKey(publicKey)));
+        }
+
+        Map<String, PublicKey> ring = new LinkedHashMap<>();
+        ring.put(keyId, verificationKey);
+        for (String entry : retiredKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("app.jwt.es256.public-keys entries must be kid=key");
+            }
+            ring.putIfAbsent(entry.substring(0, separator).trim(),
+                    keyFactory.generatePublic(new X509EncodedKeySpec(decodeKey(entry.substring(separator + 1)))));
+        }
+
+        log.info("Signing tokens with ES256 (kid {}, {} verification keys{})",
+                keyId, ring.size(), acceptHs256 ? ", HS256 accepted" : "");
+        return new JwtService(acceptHs256 ? new Hs256JwtCodec(secret) : null,
+                new Es256JwtCodec(keyId, signingKey, ring), denylist.getIfAvailable(), expirationMs);
+    }
+
+    private static byte[] decodeKey(String key) {
+        String base64 = key.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
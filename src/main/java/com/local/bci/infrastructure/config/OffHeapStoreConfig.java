@@ -0,0 +1,39 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.domain.model.UserLimits;
+import com.local.bci.infrastructure.persistence.offheap.OffHeapUserStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Replaces the JPA adapter with the memory-mapped {@link OffHeapUserStore}
+ * when the {@code offheap} profile is active, and publishes its record limits
+ * to the sign-up validation.
+ */
+@Configuration
+@Profile("offheap")
+public class OffHeapStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    @Qualifier(UserStoreConfig.BASE_STORE)
+    public OffHeapUserStore offHeapUserStore(
+            @Value("${app.persistence.offheap.path:data/users.dat}") String path,
+            @Value("${app.persistence.offheap.segment-records:16384}") int segmentRecords) throws IOException {
+        Path file = Paths.get(path).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        return new OffHeapUserStore(file, segmentRecords);
+    }
+
+    @Bean
+    public UserLimits offHeapUserLimits() {
+        return OffHeapUserStore.LIMITS;
+    }
+}
@@ -0,0 +1,47 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.infrastructure.security.RequestRateLimiter;
+import com.local.bci.infrastructure.security.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Builds the {@link RequestRateLimiter} of the user endpoints when
+ * {@code app.rate-limit.enabled} is set.
+ * <p>
+ * {@code app.rate-limit.client} bounds the requests of each remote address to
+ * {@code /sign-up}, {@code /sign-up/batch} and {@code /login}, and
+ * {@code app.rate-limit.email} the sign-ups of each email, each as a {@code burst}
+ * refilled at {@code rate-per-second} for at most {@code capacity} keys.
+ * </p>
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+@Slf4j
+public class RateLimitConfig {
+
+    @Bean(destroyMethod = "close")
+    public RequestRateLimiter requestRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.client.burst:20}") int clientBurst,
+            @Value("${app.rate-limit.client.rate-per-second:10}") double clientRate,
+            @Value("${app.rate-limit.client.capacity:100000}") int clientCapacity,
+            @Value("${app.rate-limit.email.burst:5}") int emailBurst,
+            @Value("${app.rate-limit.email.rate-per-second:0.2}") double emailRate,
+            @Value("${app.rate-limit.email.capacity:100000}") int emailCapacity,
+            @Value("${app.rate-limit.sweep-interval:30s}") Duration sweepInterval) {
+        log.info("Rate limiting enabled: {} requests/s per client (burst {}), {} sign-ups/s per email (burst {})",
+                clientRate, clientBurst, emailRate, emailBurst);
+        return new RequestRateLimiter(
+                new TokenBucketRateLimiter("client", clientBurst, clientRate, clientCapacity, sweepInterval, meterRegistry),
+                new TokenBucketRateLimiter("email", emailBurst, emailRate, emailCapacity, sweepInterval, meterRegistry));
+    }
+}
@@ -0,0 +1,24 @@
+package com.local.bci.infrastructure.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Web server of the {@code reactive} profile.
+ * <p>
+ * Tomcat stays on the classpath for the servlet stack, and Spring Boot would pick it
+ * for a reactive application as well; declaring the factory runs the reactive
+ * handlers on Reactor Netty's event loops instead.
+ * </p>
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
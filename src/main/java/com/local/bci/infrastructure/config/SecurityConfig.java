@@ -1,14 +1,56 @@
 package com.local.bci.infrastructure.config;
 
+import com.local.bci.infrastructure.security.BCryptCalibrator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@Slf4j
 public class SecurityConfig {
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${app.security.bcrypt.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${app.security.bcrypt.target-ms:80}")
+    private long targetMillis;
+
+    @Value("${app.security.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.security.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${app.security.bcrypt.samples:5}")
+    private int samples;
+
+    /**
+     * BCrypt encoder using either the configured strength or, in calibration mode,
+     * the highest strength whose slowest measured hash fits {@code app.security.bcrypt.target-ms}.
+     * <p>
+     * The strength is encoded in every hash, so hashes stored at an earlier strength keep
+     * verifying after the strength changes.
+     * </p>
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int chosen = strength;
+        if (calibrate) {
+            BCryptCalibrator.Result result = BCryptCalibrator.calibrate(minStrength, maxStrength, targetMillis, samples);
+            result.getMaxMillis().forEach((cost, max) ->
+                    log.info("BCrypt calibration: strength={} max={} ms", cost, String.format("%.1f", max)));
+            chosen = result.getStrength();
+            if (result.getMaxMillis().get(chosen) > targetMillis) {
+                log.warn("BCrypt minimum strength {} exceeds the {} ms budget on this host", chosen, targetMillis);
+            }
+        }
+        log.info("Using BCrypt strength {}{}", chosen, calibrate ? " (calibrated, target " + targetMillis + " ms)" : "");
+        return new BCryptPasswordEncoder(chosen);
     }
 }
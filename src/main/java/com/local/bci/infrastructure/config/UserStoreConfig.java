@@ -0,0 +1,72 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.infrastructure.persistence.adapter.CachingUserStore;
+import com.local.bci.infrastructure.persistence.adapter.EmailMembershipUserStore;
+import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.persistence.adapter.WriteBehindUserStore;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.persistence.membership.EmailBloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+
+/**
+ * Assembles the {@link UserStore} exposed to the use cases.
+ * <p>
+ * The base store is the JPA adapter, or the off-heap store when the {@code offheap}
+ * profile is active; both are qualified with {@value #BASE_STORE}. Optional
+ * decorators enabled through {@code app.*} properties are stacked on top of it, with
+ * the user cache outermost so that it sees login updates before they are written behind.
+ * </p>
+ */
+@Configuration
+@Profile("!reactive")
+@Slf4j
+public class UserStoreConfig {
+
+    public static final String BASE_STORE = "baseUserStore";
+
+    @Bean
+    @Primary
+    public UserStore userStore(@Qualifier(BASE_STORE) UserStore baseStore,
+                               EmailBloomFilter emailFilter,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               EntityManagerFactory entityManagerFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.login.write-behind.enabled:false}") boolean writeBehindEnabled,
+                               @Value("${app.login.write-behind.batch-size:100}") int batchSize,
+                               @Value("${app.login.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+                               @Value("${app.login.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.cache.users.enabled:false}") boolean cacheEnabled,
+                               @Value("${app.cache.users.maximum-size:10000}") long cacheMaximumSize,
+                               @Value("${app.cache.users.ttl:5m}") Duration cacheTtl) {
+        UserStore store = new EmailMembershipUserStore(baseStore, emailFilter);
+        if (writeBehindEnabled) {
+            if (baseStore instanceof UserRepositoryAdapter) {
+                Cache secondLevelCache = entityManagerFactory.getCache();
+                store = new WriteBehindUserStore(store, jdbcTemplate, new TransactionTemplate(transactionManager),
+                        batchSize, flushIntervalMs, queueCapacity, id -> secondLevelCache.evict(UserEntity.class, id));
+            } else {
+                log.warn("Login write-behind only applies to the JPA store and is ignored");
+            }
+        }
+        if (cacheEnabled) {
+            store = new CachingUserStore(store, meterRegistry, cacheMaximumSize, cacheTtl);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,48 @@
+package com.local.bci.infrastructure.config;
+
+import com.local.bci.infrastructure.concurrency.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs Tomcat request processing on virtual threads when
+ * {@code app.threads.virtual.enabled} is set.
+ * <p>
+ * The code is compiled for Java 11 and reaches the Java 21 API by reflection
+ * through {@link VirtualThreads}; enabling the mode on an older runtime fails at
+ * startup. Each request gets a new virtual thread, so the blocking JPA and H2
+ * calls made on it park the virtual thread instead of holding one of the
+ * {@code server.tomcat.threads.max} platform workers. BCrypt keeps running on the
+ * bounded platform pool of {@code PasswordHashingExecutor}: it is CPU bound and
+ * would otherwise occupy the carrier threads.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final ExecutorService requestExecutor;
+
+    public VirtualThreadConfig() {
+        this.requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+        log.info("Handling requests on virtual threads (Java {})", System.getProperty("java.version"));
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requestExecutor.shutdown();
+    }
+}
@@ -0,0 +1,15 @@
+package com.local.bci.infrastructure.exception;
+
+public class HashingCapacityExceededException extends PasswordHashingException {
+
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
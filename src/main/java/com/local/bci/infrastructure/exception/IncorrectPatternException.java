@@ -1,7 +1,29 @@
 package com.local.bci.infrastructure.exception;
 
+/**
+ * A sign-up field does not match its configured pattern, or exceeds what the
+ * user store can hold.
+ * <p>
+ * Thrown for every rejected sign-up, so it carries no stack trace; the fixed
+ * rejections are preallocated and rethrown as-is.
+ * </p>
+ */
 public class IncorrectPatternException extends IllegalArgumentException {
+
+    public static final IncorrectPatternException INVALID_EMAIL = new IncorrectPatternException("Invalid email format");
+    public static final IncorrectPatternException INVALID_PASSWORD = new IncorrectPatternException("Invalid password format");
+    public static final IncorrectPatternException NAME_TOO_LONG = new IncorrectPatternException("Name too long");
+    public static final IncorrectPatternException EMAIL_TOO_LONG = new IncorrectPatternException("Email too long");
+    public static final IncorrectPatternException TOO_MANY_PHONES = new IncorrectPatternException("Too many phones");
+    public static final IncorrectPatternException COUNTRY_CODE_TOO_LONG =
+            new IncorrectPatternException("Country code too long");
+
     public IncorrectPatternException(String message) {
         super(message);
     }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,23 @@
+package com.local.bci.infrastructure.exception;
+
+/**
+ * A login token is missing, malformed, expired, revoked or names the wrong subject.
+ * <p>
+ * Carries no stack trace; the fixed rejections are preallocated and rethrown as-is.
+ * </p>
+ */
+public class InvalidTokenException extends IllegalArgumentException {
+
+    public static final InvalidTokenException INVALID_TOKEN = new InvalidTokenException("Invalid token");
+    public static final InvalidTokenException INVALID_SUBJECT = new InvalidTokenException("Invalid token subject");
+    public static final InvalidTokenException SUBJECT_MISMATCH = new InvalidTokenException("Token subject mismatch");
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,24 @@
+package com.local.bci.infrastructure.exception;
+
+/**
+ * A valid login token cannot be used: its user is gone or inactive, or the token
+ * was already rotated by another login.
+ * <p>
+ * Carries no stack trace; the fixed rejections are preallocated and rethrown as-is.
+ * </p>
+ */
+public class LoginConflictException extends IllegalStateException {
+
+    public static final LoginConflictException USER_NOT_FOUND = new LoginConflictException("User not found for token");
+    public static final LoginConflictException INACTIVE_USER = new LoginConflictException("Cannot login inactive user");
+    public static final LoginConflictException TOKEN_ALREADY_USED = new LoginConflictException("Token already used");
+
+    public LoginConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,7 @@
+package com.local.bci.infrastructure.exception;
+
+public class PasswordHashingException extends RuntimeException {
+    public PasswordHashingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
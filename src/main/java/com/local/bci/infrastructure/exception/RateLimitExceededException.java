@@ -0,0 +1,26 @@
+package com.local.bci.infrastructure.exception;
+
+/**
+ * A client made more requests than its rate limit allows.
+ * <p>
+ * Carries no stack trace, so rejecting a burst costs little more than the bucket check.
+ * </p>
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,7 +1,22 @@
 package com.local.bci.infrastructure.exception;
 
+/**
+ * The email of a sign-up is already registered.
+ * <p>
+ * Carries no stack trace, and {@link #INSTANCE} is thrown for every duplicate, so a
+ * duplicate sign-up flood costs no more than a lookup.
+ * </p>
+ */
 public class UserExistsException extends IllegalStateException {
+
+    public static final UserExistsException INSTANCE = new UserExistsException("User already exists");
+
     public UserExistsException(String message) {
         super(message);
     }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,174 @@
+package com.local.bci.infrastructure.persistence.adapter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.local.bci.domain.model.PhoneModel;
+import com.local.bci.domain.model.UserModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link UserStore} decorator that keeps recently read users in bounded Caffeine caches
+ * keyed by email and by token.
+ * <p>
+ * Lookups are read-through: a miss loads the user from the delegate and caches it, a
+ * user that does not exist is not cached. Every write invalidates the email entry of
+ * the written user and the token entry last cached for it, so a login that rotates the
+ * token also evicts the previous token. Loads and invalidations of the same key are
+ * serialized by the cache, so a load racing a write cannot leave the old state behind.
+ * Entries also expire after a fixed time, which bounds staleness when the users table
+ * is changed from outside this instance.
+ * </p>
+ * <p>
+ * Callers mutate the users they read, so cached users are never handed out: every hit
+ * returns a copy. Hit, miss and eviction statistics of both caches are published as
+ * {@code cache.*} metrics tagged {@code cache=users.by-email} and {@code cache=users.by-token}.
+ * </p>
+ */
+public class CachingUserStore extends ForwardingUserStore {
+
+    public static final String BY_EMAIL_CACHE = "users.by-email";
+    public static final String BY_TOKEN_CACHE = "users.by-token";
+
+    private final Cache<String, UserModel> byEmail;
+    private final Cache<String, UserModel> byToken;
+    private final ConcurrentMap<UUID, String> cachedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache and registers its statistics.
+     *
+     * @param delegate      store used on cache misses and for every write
+     * @param meterRegistry registry where the cache statistics are published
+     * @param maximumSize   maximum number of users held by each cache
+     * @param timeToLive    time after which a cached user is reloaded
+     */
+    public CachingUserStore(UserStore delegate, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        super(delegate);
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.byToken = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .removalListener(this::onTokenRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, BY_EMAIL_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, byToken, BY_TOKEN_CACHE);
+    }
+
+    @Override
+    public Optional<UserModel> findByEmail(String email) {
+        UserModel cached = byEmail.get(email, key -> super.findByEmail(key).map(CachingUserStore::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(CachingUserStore::copyOf);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail.getIfPresent(email) != null || super.existsByEmail(email);
+    }
+
+    @Override
+    public Optional<UserModel> findByToken(String token) {
+        UserModel cached = byToken.get(token, key -> super.findByToken(key)
+                .map(user -> {
+                    cachedTokens.put(user.getId(), key);
+                    return copyOf(user);
+                })
+                .orElse(null));
+        return Optional.ofNullable(cached).map(CachingUserStore::copyOf);
+    }
+
+    @Override
+    public UserModel apply(UserModel userModel) {
+        try {
+            return super.apply(userModel);
+        } finally {
+            invalidate(userModel);
+        }
+    }
+
+    @Override
+    public UserModel create(UserModel user) {
+        try {
+            return super.create(user);
+        } finally {
+            invalidate(user);
+        }
+    }
+
+    @Override
+    public List<UserModel> saveAll(List<UserModel> users) {
+        try {
+            return super.saveAll(users);
+        } finally {
+            users.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public int updateLogin(UserModel user, String previousToken) {
+        try {
+            return super.updateLogin(user, previousToken);
+        } finally {
+            if (previousToken != null) {
+                byToken.invalidate(previousToken);
+            }
+            invalidate(user);
+        }
+    }
+
+    /**
+     * Drops every cached user.
+     */
+    public void invalidateAll() {
+        byEmail.invalidateAll();
+        byToken.invalidateAll();
+    }
+
+    private void invalidate(UserModel user) {
+        if (user.getEmail() != null) {
+            byEmail.invalidate(user.getEmail());
+        }
+        if (user.getToken() != null) {
+            byToken.invalidate(user.getToken());
+        }
+        if (user.getId() != null) {
+            String token = cachedTokens.remove(user.getId());
+            if (token != null) {
+                byToken.invalidate(token);
+            }
+        }
+    }
+
+    private void onTokenRemoval(String token, UserModel user, RemovalCause cause) {
+        if (token != null && user != null) {
+            cachedTokens.remove(user.getId(), token);
+        }
+    }
+
+    private static UserModel copyOf(UserModel user) {
+        List<PhoneModel> phones = null;
+        if (user.getPhones() != null) {
+            phones = new ArrayList<>(user.getPhones().size());
+            for (PhoneModel phone : user.getPhones()) {
+                phones.add(new PhoneModel(phone.getNumber(), phone.getCityCode(), phone.getCountryCode()));
+            }
+        }
+        return new UserModel(user.getId(), user.getCreated(), user.getLastLogin(), user.getToken(),
+                user.getIsActive(), user.getName(), user.getEmail(), user.getPasswordPlain(),
+                user.getPasswordEncrypted(), phones);
+    }
+}
@@ -0,0 +1,43 @@
+package com.local.bci.infrastructure.persistence.adapter;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.persistence.membership.EmailBloomFilter;
+
+import java.util.List;
+
+/**
+ * {@link UserStore} decorator that records the email of every saved user in the
+ * {@link EmailBloomFilter}, so the filter stays in step with the users table.
+ */
+public class EmailMembershipUserStore extends ForwardingUserStore {
+
+    private final EmailBloomFilter emailFilter;
+
+    public EmailMembershipUserStore(UserStore delegate, EmailBloomFilter emailFilter) {
+        super(delegate);
+        this.emailFilter = emailFilter;
+    }
+
+    @Override
+    public UserModel apply(UserModel userModel) {
+        UserModel saved = super.apply(userModel);
+        emailFilter.add(saved.getEmail());
+        return saved;
+    }
+
+    @Override
+    public UserModel create(UserModel user) {
+        UserModel created = super.create(user);
+        emailFilter.add(created.getEmail());
+        return created;
+    }
+
+    @Override
+    public List<UserModel> saveAll(List<UserModel> users) {
+        List<UserModel> saved = super.saveAll(users);
+        for (UserModel user : saved) {
+            emailFilter.add(user.getEmail());
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,85 @@
+package com.local.bci.infrastructure.persistence.adapter;
+
+import com.local.bci.domain.model.UserModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Base class for {@link UserStore} decorators that forwards every call to a delegate.
+ * Subclasses override only the operations they change.
+ * <p>
+ * Only the outermost decorator is a bean, so {@link #close()} is passed down the
+ * chain of decorators. It stops at the base store, whose bean is closed on its own.
+ * </p>
+ */
+public abstract class ForwardingUserStore implements UserStore, AutoCloseable {
+
+    private final UserStore delegate;
+
+    protected ForwardingUserStore(UserStore delegate) {
+        this.delegate = delegate;
+    }
+
+    protected UserStore delegate() {
+        return delegate;
+    }
+
+    @Override
+    public UserModel apply(UserModel userModel) {
+        return delegate.apply(userModel);
+    }
+
+    @Override
+    public Optional<UserModel> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Optional<UserModel> findByToken(String token) {
+        return delegate.findByToken(token);
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public int updateLogin(UserModel user, String previousToken) {
+        return delegate.updateLogin(user, previousToken);
+    }
+
+    @Override
+    public List<UserModel> saveAll(List<UserModel> users) {
+        return delegate.saveAll(users);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public UserModel create(UserModel user) {
+        return delegate.create(user);
+    }
+
+    /**
+     * Closes the decorators below this one.
+     */
+    @Override
+    public void close() {
+        if (delegate instanceof ForwardingUserStore) {
+            ((ForwardingUserStore) delegate).close();
+        }
+    }
+}
@@ -1,34 +1,77 @@
 package com.local.bci.infrastructure.persistence.adapter;
 
 import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.CreateUserPort;
+import com.local.bci.domain.port.persistence.FindExistingEmailsPort;
 import com.local.bci.domain.port.persistence.FindUserByEmailPort;
+import com.local.bci.domain.port.persistence.FindUserByIdPort;
 import com.local.bci.domain.port.persistence.FindUserByTokenPort;
+import com.local.bci.domain.port.persistence.ListUserEmailsPort;
 import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.SaveUsersPort;
+import com.local.bci.domain.port.persistence.UpdateLoginPort;
+import com.local.bci.infrastructure.config.UserStoreConfig;
+import com.local.bci.infrastructure.exception.UserExistsException;
 import com.local.bci.infrastructure.exception.UserPersistenceException;
 import com.local.bci.infrastructure.mapper.UserEntityModelMapper;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
 import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.TokenDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.UUIDBinaryType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Adapter that bridges domain ports with the persistence layer.
  * <p>
- * Implements {@link SaveUserPort}, {@link FindUserByEmailPort}, and {@link FindUserByTokenPort}
- * using a JPA repository and a mapper to convert between entities and domain models.
+ * Implements {@link SaveUserPort}, {@link FindUserByEmailPort}, {@link FindUserByTokenPort},
+ * {@link FindUserByIdPort}, {@link UpdateLoginPort}, {@link SaveUsersPort},
+ * {@link FindExistingEmailsPort}, {@link CreateUserPort} and {@link ListUserEmailsPort} using a JPA repository and a mapper to convert between entities and domain models.
  * Handles database exceptions and wraps them in {@link UserPersistenceException}.
+ * When the second-level cache is enabled, lookups by id and email checks are served
+ * from it, and login updates evict only the user they change.
+ * This is the base store unless the {@code offheap} or {@code reactive} profile is active.
  * </p>
  */
 @Component
+@Profile("!offheap & !reactive")
+@Qualifier(UserStoreConfig.BASE_STORE)
 @RequiredArgsConstructor
 @Slf4j
-public class UserRepositoryAdapter implements SaveUserPort, FindUserByEmailPort, FindUserByTokenPort {
+public class UserRepositoryAdapter implements UserStore, ListUserEmailsPort {
+
+    private static final String UPDATE_LOGIN_SQL =
+            "UPDATE users SET last_login = ?, token = ?, token_digest = ? WHERE id = ? AND token_digest = ?";
+
+    /**
+     * Query space declared by the login update instead of {@code users}: no cached
+     * mapping uses it, so Hibernate does not empty the user regions after the update.
+     */
+    private static final String LOGIN_QUERY_SPACE = "users_login";
 
     private final UserJpaRepository jpaRepository;
     private final UserEntityModelMapper mapper;
+    private final EntityManager entityManager;
 
     /**
      * Saves a user in the persistence layer.
@@ -50,13 +93,14 @@ public class UserRepositoryAdapter implements SaveUserPort, FindUserByEmailPort,
     }
 
     /**
-     * Finds a user by email.
+     * Finds a user by email, fetching its phones in the same query.
      *
      * @param email user email
      * @return an {@link Optional} containing the {@link UserModel} if found
      * @throws UserPersistenceException if a database error occurs
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserModel> findByEmail(String email) {
         try {
             return jpaRepository.findByEmail(email)
@@ -68,20 +112,254 @@ public class UserRepositoryAdapter implements SaveUserPort, FindUserByEmailPort,
     }
 
     /**
-     * Finds a user by JWT token.
+     * Checks whether a user with the given email exists without loading it.
+     * <p>
+     * The email is resolved as the natural id of the user, from the
+     * {@value UserEntity#NATURAL_ID_CACHE_REGION} cache region when it holds the email
+     * and otherwise with a single id query.
+     * </p>
+     *
+     * @param email user email
+     * @return {@code true} if the email is registered
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        try {
+            return entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(UserEntity.class)
+                    .getReference(email) != null;
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Error checking user email {}: {}", email, e.getMessage(), e);
+            throw new UserPersistenceException("Failed to check user email", e);
+        }
+    }
+
+    /**
+     * Finds a user by JWT token, fetching its phones in the same query.
+     * <p>
+     * The token is hashed with {@link TokenDigest} and resolved through the
+     * unique digest index rather than by comparing the full token column.
+     * </p>
      *
      * @param token user token
      * @return an {@link Optional} containing the {@link UserModel} if found
      * @throws UserPersistenceException if a database error occurs
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserModel> findByToken(String token) {
         try {
-            return jpaRepository.findByToken(token)
+            return jpaRepository.findByTokenDigest(TokenDigest.of(token))
                     .map(mapper::entityToModel);
         } catch (DataAccessException e) {
             log.error("Error finding user by token {}: {}", token, e.getMessage(), e);
             throw new UserPersistenceException("Failed to find user by token", e);
         }
     }
+
+    /**
+     * Finds a user by primary key.
+     * <p>
+     * A user held by the second-level cache is loaded from it, with its phones from
+     * the {@value UserEntity#PHONES_CACHE_REGION} region; any other is fetched with its
+     * phones in the same query.
+     * </p>
+     *
+     * @param id user id
+     * @return an {@link Optional} containing the {@link UserModel} if found
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserModel> findById(UUID id) {
+        try {
+            if (entityManager.getEntityManagerFactory().getCache().contains(UserEntity.class, id)) {
+                UserEntity cached = entityManager.find(UserEntity.class, id);
+                if (cached != null) {
+                    return Optional.of(mapper.entityToModel(cached));
+                }
+            }
+            return jpaRepository.findWithPhonesById(id)
+                    .map(mapper::entityToModel);
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Error finding user by id {}: {}", id, e.getMessage(), e);
+            throw new UserPersistenceException("Failed to find user by id", e);
+        }
+    }
+
+    /**
+     * Persists the refreshed last login date and token of a user.
+     * <p>
+     * Issues a single UPDATE of the login columns instead of merging the user, so the
+     * phones are neither reloaded nor rewritten. The UPDATE matches the digest of
+     * {@code previousToken} as well as the id, which makes it a compare-and-set: a
+     * token that was already rotated by a concurrent login updates no row.
+     * </p>
+     * <p>
+     * The UPDATE is native SQL on its own query space, so it leaves the second-level
+     * cache alone; only the updated user is evicted, once the transaction completes.
+     * A reader racing with the eviction may briefly see the previous token, which can
+     * only make a login fail this compare-and-set, never pass it.
+     * </p>
+     *
+     * @param user          user carrying the new last login and token
+     * @param previousToken token the user logged in with
+     * @return 1 if the user was updated, 0 if it no longer holds {@code previousToken}
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    @Transactional
+    public int updateLogin(UserModel user, String previousToken) {
+        try {
+            int updated = entityManager.createNativeQuery(UPDATE_LOGIN_SQL)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace(LOGIN_QUERY_SPACE)
+                    .setParameter(1, user.getLastLogin(), LocalDateTimeType.INSTANCE)
+                    .setParameter(2, user.getToken(), StringType.INSTANCE)
+                    .setParameter(3, TokenDigest.of(user.getToken()), StringType.INSTANCE)
+                    .setParameter(4, user.getId(), UUIDBinaryType.INSTANCE)
+                    .setParameter(5, TokenDigest.of(previousToken), StringType.INSTANCE)
+                    .executeUpdate();
+            if (updated > 0) {
+                evictAfterCompletion(user.getId());
+            }
+            return updated;
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Error updating login of user {}: {}", user.getId(), e.getMessage(), e);
+            throw new UserPersistenceException("Failed to save user", e);
+        }
+    }
+
+    /**
+     * Inserts a batch of new users in a single transaction.
+     * <p>
+     * Entities are persisted directly (no merge, so no SELECT per user) and flushed
+     * together, letting Hibernate group the INSERTs into JDBC batches.
+     * </p>
+     *
+     * @param users domain models of the new users
+     * @return the saved {@link UserModel}s, in the same order
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    @Transactional
+    public List<UserModel> saveAll(List<UserModel> users) {
+        try {
+            List<UserEntity> entities = new ArrayList<>(users.size());
+            for (UserModel user : users) {
+                UserEntity entity = mapper.modelToEntity(user);
+                entityManager.persist(entity);
+                entities.add(entity);
+            }
+            entityManager.flush();
+
+            List<UserModel> saved = new ArrayList<>(entities.size());
+            for (UserEntity entity : entities) {
+                saved.add(mapper.entityToModel(entity));
+            }
+            entityManager.clear();
+            return saved;
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Error saving {} users to database: {}", users.size(), e.getMessage(), e);
+            throw new UserPersistenceException("Failed to save users", e);
+        }
+    }
+
+    /**
+     * Returns which of the given emails already belong to a user.
+     *
+     * @param emails emails to check
+     * @return the subset of {@code emails} already registered
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            return new HashSet<>(jpaRepository.findExistingEmails(emails));
+        } catch (DataAccessException e) {
+            log.error("Error finding existing emails: {}", e.getMessage(), e);
+            throw new UserPersistenceException("Failed to find existing emails", e);
+        }
+    }
+
+    /**
+     * Inserts a new user, relying on the unique constraint on its email.
+     * <p>
+     * The entity is persisted and flushed directly, so a new user costs a single
+     * INSERT round-trip instead of the SELECT issued by a merge. A violation of
+     * {@value UserEntity#EMAIL_CONSTRAINT} is reported as {@link UserExistsException}
+     * and rolls back the transaction.
+     * </p>
+     *
+     * @param user domain model of the new user
+     * @return the saved {@link UserModel}
+     * @throws UserExistsException      if the email is already registered
+     * @throws UserPersistenceException if any other database error occurs
+     */
+    @Override
+    @Transactional
+    public UserModel create(UserModel user) {
+        try {
+            UserEntity entity = mapper.modelToEntity(user);
+            entityManager.persist(entity);
+            entityManager.flush();
+            return mapper.entityToModel(entity);
+        } catch (DataAccessException | PersistenceException e) {
+            if (isEmailConflict(e)) {
+                log.info("Sign-up rejected, email {} already registered", user.getEmail());
+                throw UserExistsException.INSTANCE;
+            }
+            log.error("Error creating user in database: {}", e.getMessage(), e);
+            throw new UserPersistenceException("Failed to save user", e);
+        }
+    }
+
+    /**
+     * Streams the email of every user, without loading the entities.
+     *
+     * @param action callback receiving each email
+     * @throws UserPersistenceException if a database error occurs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachEmail(Consumer<String> action) {
+        try (Stream<String> emails = jpaRepository.streamAllEmails()) {
+            emails.forEach(action);
+        } catch (DataAccessException e) {
+            log.error("Error listing user emails: {}", e.getMessage(), e);
+            throw new UserPersistenceException("Failed to list user emails", e);
+        }
+    }
+
+    private void evictAfterCompletion(UUID id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evict(UserEntity.class, id);
+            }
+        });
+    }
+
+    private static boolean isEmailConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException
+                    && mentionsEmailConstraint(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException && mentionsEmailConstraint(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsEmailConstraint(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(UserEntity.EMAIL_CONSTRAINT);
+    }
 }
@@ -0,0 +1,24 @@
+package com.local.bci.infrastructure.persistence.adapter;
+
+import com.local.bci.domain.port.persistence.CreateUserPort;
+import com.local.bci.domain.port.persistence.ExistsUserByEmailPort;
+import com.local.bci.domain.port.persistence.FindExistingEmailsPort;
+import com.local.bci.domain.port.persistence.FindUserByEmailPort;
+import com.local.bci.domain.port.persistence.FindUserByIdPort;
+import com.local.bci.domain.port.persistence.FindUserByTokenPort;
+import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.SaveUsersPort;
+import com.local.bci.domain.port.persistence.UpdateLoginPort;
+
+/**
+ * Aggregate of every user persistence port.
+ * <p>
+ * Persistence adapters implement this interface so that optional behaviours
+ * (such as write-behind) can be stacked on top of them as decorators, with the
+ * outermost store exposed to the use cases through {@code UserStoreConfig}.
+ * </p>
+ */
+public interface UserStore extends SaveUserPort, FindUserByEmailPort, FindUserByTokenPort,
+        FindUserByIdPort, UpdateLoginPort, SaveUsersPort, FindExistingEmailsPort, CreateUserPort,
+        ExistsUserByEmailPort {
+}
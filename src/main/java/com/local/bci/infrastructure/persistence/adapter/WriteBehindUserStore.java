@@ -0,0 +1,395 @@
+package com.local.bci.infrastructure.persistence.adapter;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.security.TokenDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link UserStore} decorator that defers login updates and writes them in JDBC batches.
+ * <p>
+ * Each login records the new last login date and token in memory and queues the
+ * user id in a bounded queue. A background flusher issues batched UPDATE statements
+ * every {@code flushIntervalMs} or as soon as {@code batchSize} users are waiting.
+ * Repeated logins of the same user before a flush are coalesced into one update.
+ * </p>
+ * <p>
+ * Reads are served with read-your-writes consistency: a pending token resolves to
+ * its user, and the token it replaced no longer does, even before the flush. When
+ * the queue is full the caller flushes inline, which keeps memory bounded and pushes
+ * back on the login rate. A failed batch stays pending and is retried on the next
+ * flush. Pending updates are flushed on {@link #close()}.
+ * </p>
+ * <p>
+ * The compare-and-set on the previous token is checked twice. A login whose token
+ * was already replaced, by a pending update or by a flushed one, is rejected
+ * immediately: without a pending update the token is checked against the stored
+ * user. Each batched UPDATE also matches the token stored before the first
+ * coalesced login, so a token rotated behind this store's back makes the update a
+ * no-op, which is logged.
+ * The batches bypass Hibernate, so each written user is passed to an {@code afterWrite}
+ * callback, which evicts it from the second-level cache.
+ * </p>
+ */
+@Slf4j
+public class WriteBehindUserStore extends ForwardingUserStore {
+
+    private static final String UPDATE_LOGIN_SQL =
+            "UPDATE users SET last_login = ?, token = ?, token_digest = ? WHERE id = ? AND token_digest = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Consumer<UUID> afterWrite;
+
+    private final BlockingQueue<UUID> dirty;
+    private final ConcurrentMap<UUID, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, UUID> pendingTokens = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong writtenBatches = new AtomicLong();
+    private final ScheduledExecutorService flusher;
+    private List<UUID> carryOver = new ArrayList<>();
+
+    /**
+     * Creates the decorator and starts its background flusher.
+     *
+     * @param delegate            store used for reads and for every non-login write
+     * @param jdbcTemplate        template used to issue the batched updates
+     * @param transactionTemplate template wrapping each batch in a single transaction
+     * @param batchSize           maximum number of updates per JDBC batch
+     * @param flushIntervalMs     maximum time an update waits before being flushed
+     * @param queueCapacity       maximum number of users with a pending update
+     */
+    public WriteBehindUserStore(UserStore delegate,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                int batchSize,
+                                long flushIntervalMs,
+                                int queueCapacity) {
+        this(delegate, jdbcTemplate, transactionTemplate, batchSize, flushIntervalMs, queueCapacity, id -> { });
+    }
+
+    /**
+     * Creates the decorator and starts its background flusher.
+     *
+     * @param delegate            store used for reads and for every non-login write
+     * @param jdbcTemplate        template used to issue the batched updates
+     * @param transactionTemplate template wrapping each batch in a single transaction
+     * @param batchSize           maximum number of updates per JDBC batch
+     * @param flushIntervalMs     maximum time an update waits before being flushed
+     * @param queueCapacity       maximum number of users with a pending update
+     * @param afterWrite          called with the id of each user written, after its batch committed
+     */
+    public WriteBehindUserStore(UserStore delegate,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                int batchSize,
+                                long flushIntervalMs,
+                                int queueCapacity,
+                                Consumer<UUID> afterWrite) {
+        super(delegate);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.afterWrite = afterWrite;
+        this.dirty = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a login update to be written by the next flush.
+     *
+     * @param user          user carrying the new last login and token
+     * @param previousToken token the user logged in with
+     * @return 1 if the update was queued, 0 if a pending update or the stored user already
+     * replaced {@code previousToken}
+     */
+    @Override
+    public int updateLogin(UserModel user, String previousToken) {
+        PendingLogin update = new PendingLogin(user.getId(), user.getLastLogin(), user.getToken(), previousToken);
+        pendingTokens.put(update.token, update.userId);
+
+        Enqueued result = enqueue(update);
+        if (result == Enqueued.FULL) {
+            flush();
+            result = enqueue(update);
+        }
+        if (result != Enqueued.QUEUED) {
+            pendingTokens.remove(update.token, update.userId);
+            if (result == Enqueued.STALE) {
+                return 0;
+            }
+            throw new UserPersistenceException("Failed to queue login update", null);
+        }
+
+        if (dirty.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public Optional<UserModel> findByToken(String token) {
+        UUID pendingId = pendingTokens.get(token);
+        if (pendingId != null) {
+            PendingLogin update = pending.get(pendingId);
+            if (update != null && update.token.equals(token)) {
+                return super.findById(pendingId).map(update::applyTo);
+            }
+        }
+        return super.findByToken(token)
+                .filter(user -> isCurrentToken(user.getId(), token))
+                .map(this::withPendingLogin);
+    }
+
+    @Override
+    public Optional<UserModel> findByEmail(String email) {
+        return super.findByEmail(email).map(this::withPendingLogin);
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID id) {
+        return super.findById(id).map(this::withPendingLogin);
+    }
+
+    /**
+     * Returns the number of users whose login update has not been flushed yet.
+     *
+     * @return pending update count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every queued login update.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<UUID> ids = carryOver;
+            carryOver = new ArrayList<>(batchSize);
+            while (true) {
+                if (ids.size() < batchSize) {
+                    dirty.drainTo(ids, batchSize - ids.size());
+                }
+                if (ids.isEmpty()) {
+                    return;
+                }
+                try {
+                    ids = writeBatch(ids);
+                } catch (DataAccessException e) {
+                    log.error("Error flushing {} login updates: {}", ids.size(), e.getMessage(), e);
+                    carryOver = ids;
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flusher and writes every update still pending.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Login write-behind flusher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Login write-behind closed, {} updates left unflushed", pending.size());
+        super.close();
+    }
+
+    private Enqueued enqueue(PendingLogin update) {
+        while (true) {
+            long written = writtenBatches.get();
+            if (!pending.containsKey(update.userId) && !isStoredToken(update.userId, update.baseToken)) {
+                return Enqueued.STALE;
+            }
+            Enqueued result = enqueue(update, written);
+            if (result != Enqueued.RETRY) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Queues an update, or merges it into the pending update of the same user.
+     * A user without a pending update had its stored token checked by the caller, which
+     * is only still valid if no batch was written since {@code written} was read.
+     */
+    private Enqueued enqueue(PendingLogin update, long written) {
+        AtomicReference<Enqueued> result = new AtomicReference<>(Enqueued.QUEUED);
+        pending.compute(update.userId, (id, previous) -> {
+            if (previous != null) {
+                if (!previous.token.equals(update.baseToken)) {
+                    result.set(Enqueued.STALE);
+                    return previous;
+                }
+                pendingTokens.remove(previous.token, id);
+                return update.withBaseToken(previous.baseToken);
+            }
+            if (writtenBatches.get() != written) {
+                result.set(Enqueued.RETRY);
+                return null;
+            }
+            if (dirty.offer(id)) {
+                return update;
+            }
+            result.set(Enqueued.FULL);
+            return null;
+        });
+        return result.get();
+    }
+
+    private List<UUID> writeBatch(List<UUID> ids) {
+        List<PendingLogin> batch = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            PendingLogin update = pending.get(id);
+            if (update != null) {
+                batch.add(update);
+            }
+        }
+
+        List<UUID> superseded = new ArrayList<>(batchSize);
+        if (batch.isEmpty()) {
+            return superseded;
+        }
+
+        int[][] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_LOGIN_SQL, batch, batch.size(), (ps, update) -> {
+                    ps.setTimestamp(1, update.lastLogin == null ? null : Timestamp.valueOf(update.lastLogin));
+                    ps.setString(2, update.token);
+                    ps.setString(3, TokenDigest.of(update.token));
+                    ps.setBytes(4, toBytes(update.userId));
+                    ps.setString(5, TokenDigest.of(update.baseToken));
+                }));
+        for (PendingLogin update : batch) {
+            afterWrite.accept(update.userId);
+        }
+        int rejected = countUnmatched(counts);
+        if (rejected > 0) {
+            log.warn("{} login updates skipped because the stored token had already changed", rejected);
+        }
+
+        writtenBatches.incrementAndGet();
+        for (PendingLogin update : batch) {
+            if (pending.remove(update.userId, update)) {
+                pendingTokens.remove(update.token, update.userId);
+            } else {
+                pending.computeIfPresent(update.userId, (id, current) -> current.withBaseToken(update.token));
+                superseded.add(update.userId);
+            }
+        }
+        return superseded;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error flushing login updates: {}", e.getMessage(), e);
+        }
+    }
+
+    private static int countUnmatched(int[][] counts) {
+        int unmatched = 0;
+        if (counts != null) {
+            for (int[] batchCounts : counts) {
+                for (int count : batchCounts) {
+                    if (count == 0) {
+                        unmatched++;
+                    }
+                }
+            }
+        }
+        return unmatched;
+    }
+
+    private boolean isStoredToken(UUID userId, String token) {
+        return delegate().findById(userId)
+                .map(user -> token != null && token.equals(user.getToken()))
+                .orElse(false);
+    }
+
+    private boolean isCurrentToken(UUID userId, String token) {
+        PendingLogin update = pending.get(userId);
+        return update == null || update.token.equals(token);
+    }
+
+    private UserModel withPendingLogin(UserModel user) {
+        PendingLogin update = pending.get(user.getId());
+        return update == null ? user : update.applyTo(user);
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private enum Enqueued { QUEUED, STALE, FULL, RETRY }
+
+    private static final class PendingLogin {
+        private final UUID userId;
+        private final LocalDateTime lastLogin;
+        private final String token;
+        private final String baseToken;
+
+        private PendingLogin(UUID userId, LocalDateTime lastLogin, String token, String baseToken) {
+            this.userId = userId;
+            this.lastLogin = lastLogin;
+            this.token = token;
+            this.baseToken = baseToken;
+        }
+
+        private PendingLogin withBaseToken(String baseToken) {
+            return new PendingLogin(userId, lastLogin, token, baseToken);
+        }
+
+        private UserModel applyTo(UserModel user) {
+            user.setLastLogin(lastLogin);
+            user.setToken(token);
+            return user;
+        }
+    }
+}
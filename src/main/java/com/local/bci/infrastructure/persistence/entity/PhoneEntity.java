@@ -2,6 +2,8 @@ package com.local.bci.infrastructure.persistence.entity;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -10,10 +12,15 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "phones")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PhoneEntity.CACHE_REGION)
 public class PhoneEntity {
 
+    public static final String CACHE_REGION = "phones";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phones_seq")
+    @SequenceGenerator(name = "phones_seq", sequenceName = "phones_seq", allocationSize = 50)
     private Long id;
 
     private Long number;
@@ -1,17 +1,34 @@
 package com.local.bci.infrastructure.persistence.entity;
 
+import com.local.bci.infrastructure.security.TokenDigest;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = "ux_users_token_digest", columnList = "token_digest", unique = true))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserEntity {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+    public static final String PHONES_CACHE_REGION = "user-phones";
+
     @Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
@@ -20,19 +37,25 @@ public class UserEntity {
 
     private LocalDateTime lastLogin;
 
+    @Column(length = 1024)
     private String token;
 
+    @Column(name = "token_digest", length = TokenDigest.LENGTH)
+    private String tokenDigest;
+
     private Boolean isActive;
 
     private String name;
 
-    @Column(unique = true, nullable = false)
+    @NaturalId
+    @Column(nullable = false)
     private String email;
 
     private String password;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "user_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.PHONES_CACHE_REGION)
     private List<PhoneEntity> phones;
 
     public UUID getId() {
@@ -67,6 +90,14 @@ public class UserEntity {
         this.token = token;
     }
 
+    public String getTokenDigest() {
+        return tokenDigest;
+    }
+
+    public void setTokenDigest(String tokenDigest) {
+        this.tokenDigest = tokenDigest;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -106,4 +137,10 @@ public class UserEntity {
     public void setPhones(List<PhoneEntity> phones) {
         this.phones = phones;
     }
+
+    @PrePersist
+    @PreUpdate
+    void syncTokenDigest() {
+        tokenDigest = TokenDigest.of(token);
+    }
 }
@@ -0,0 +1,20 @@
+package com.local.bci.infrastructure.persistence.id;
+
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+
+import java.util.UUID;
+
+/**
+ * {@link IdGeneratorPort} returning random (version 4) UUIDs from {@link UUID#randomUUID()}.
+ * <p>
+ * Consecutive ids land anywhere in the primary key index, so every insert touches
+ * a random leaf page. Kept as the baseline for {@link UuidV7Generator}.
+ * </p>
+ */
+public class RandomIdGenerator implements IdGeneratorPort {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,82 @@
+package com.local.bci.infrastructure.persistence.id;
+
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link IdGeneratorPort} returning time-ordered version 7 UUIDs (RFC 9562).
+ * <p>
+ * The 48 most significant bits hold the Unix time in milliseconds and the next 12
+ * bits ({@code rand_a}) a counter, so ids generated later sort after earlier ones
+ * and inserts append to the right edge of the primary key index instead of
+ * splitting random pages. The remaining 62 bits are random.
+ * </p>
+ * <p>
+ * Timestamp and counter live together in one {@link AtomicLong} advanced with a
+ * compare-and-set: a new millisecond starts the counter at a random value below
+ * 2048, a repeated millisecond increments it, and when it overflows the counter
+ * carries into the timestamp, which then runs slightly ahead of the clock. The same
+ * happens if the clock goes backwards, so ids stay strictly increasing within the
+ * process without any lock. The random bits come from {@link ThreadLocalRandom}:
+ * ids are unique keys, not secrets.
+ * </p>
+ */
+public class UuidV7Generator implements IdGeneratorPort {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int COUNTER_START_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final LongSupplier clock;
+
+    /**
+     * Timestamp in milliseconds shifted left by {@value #COUNTER_BITS}, plus the counter.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock source of the current Unix time in milliseconds
+     */
+    public UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        long next = nextState();
+        long msb = ((next & ~COUNTER_MASK) << 4) | VERSION | (next & COUNTER_MASK);
+        long lsb = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+        return new UUID(msb, lsb);
+    }
+
+    private long nextState() {
+        while (true) {
+            long prev = state.get();
+            long millis = clock.getAsLong() << COUNTER_BITS;
+            long next = millis > (prev & ~COUNTER_MASK)
+                    ? millis | ThreadLocalRandom.current().nextInt(COUNTER_START_BOUND)
+                    : prev + 1;
+            if (state.compareAndSet(prev, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Unix time in milliseconds encoded in a version 7 UUID.
+     */
+    public static long timestampOf(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
@@ -1,12 +1,41 @@
 package com.local.bci.infrastructure.persistence.jpa;
 
 import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+/**
+ * JPA repository of {@link UserEntity}.
+ * <p>
+ * Lookups that return a whole user fetch its phones in the same query through the
+ * {@value #WITH_PHONES} entity graph. Email checks and login updates are issued by
+ * {@code UserRepositoryAdapter} itself, so that they can use the second-level cache.
+ * </p>
+ */
 public interface UserJpaRepository extends JpaRepository<UserEntity, UUID> {
+
+    String WITH_PHONES = "phones";
+
+    @EntityGraph(attributePaths = WITH_PHONES)
     Optional<UserEntity> findByEmail(String email);
-    Optional<UserEntity> findByToken(String token);
+
+    @EntityGraph(attributePaths = WITH_PHONES)
+    Optional<UserEntity> findByTokenDigest(String tokenDigest);
+
+    @EntityGraph(attributePaths = WITH_PHONES)
+    Optional<UserEntity> findWithPhonesById(UUID id);
+
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.email from UserEntity u")
+    Stream<String> streamAllEmails();
 }
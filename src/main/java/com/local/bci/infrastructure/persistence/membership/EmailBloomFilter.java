@@ -0,0 +1,136 @@
+package com.local.bci.infrastructure.persistence.membership;
+
+import com.local.bci.domain.port.persistence.EmailMembershipPort;
+import com.local.bci.domain.port.persistence.ListUserEmailsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link EmailMembershipPort} backed by an in-memory {@link BloomFilter}.
+ * <p>
+ * The filter is warmed from the user store once the application is ready and
+ * receives every email saved afterwards, so a negative answer lets sign-up skip
+ * the database lookup. Until warming completes, or when the filter is disabled
+ * through {@code app.sign-up.email-filter.enabled}, every email is reported as
+ * possibly registered and the database stays the source of truth.
+ * </p>
+ * <p>
+ * Emails recorded by a transaction that later rolls back stay in the filter; they
+ * only cost an extra lookup. Publishes the configured and estimated false-positive
+ * rates, the memory footprint and the number of lookups skipped.
+ * </p>
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class EmailBloomFilter implements EmailMembershipPort {
+
+    private final ListUserEmailsPort emailSource;
+    private final boolean enabled;
+    private final BloomFilter filter;
+    private volatile boolean warmed;
+
+    private final Counter skipped;
+    private final Counter maybe;
+
+    /**
+     * Creates the filter.
+     *
+     * @param emailSource        base user store, read once to warm the filter
+     * @param meterRegistry      registry where the filter metrics are published
+     * @param enabled            whether negative answers are trusted
+     * @param expectedInsertions number of emails the filter is sized for
+     * @param falsePositiveRate  target false-positive rate at {@code expectedInsertions}
+     */
+    public EmailBloomFilter(ListUserEmailsPort emailSource,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.sign-up.email-filter.enabled:true}") boolean enabled,
+                            @Value("${app.sign-up.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${app.sign-up.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.emailSource = emailSource;
+        this.enabled = enabled;
+        this.filter = enabled ? BloomFilter.create(expectedInsertions, falsePositiveRate) : null;
+
+        this.skipped = Counter.builder("users.email.filter.lookups")
+                .tag("result", "absent")
+                .description("Email existence checks answered by the filter without a database lookup")
+                .register(meterRegistry);
+        this.maybe = Counter.builder("users.email.filter.lookups")
+                .tag("result", "maybe")
+                .description("Email existence checks that had to be confirmed against the database")
+                .register(meterRegistry);
+
+        if (enabled) {
+            Gauge.builder("users.email.filter.fpp.configured", () -> falsePositiveRate)
+                    .description("Target false-positive rate of the email filter")
+                    .register(meterRegistry);
+            Gauge.builder("users.email.filter.fpp.estimated", filter, BloomFilter::estimatedFalsePositiveRate)
+                    .description("False-positive rate of the email filter at its current fill ratio")
+                    .register(meterRegistry);
+            Gauge.builder("users.email.filter.size", filter, BloomFilter::sizeInBytes)
+                    .baseUnit("bytes")
+                    .description("Memory used by the email filter bit set")
+                    .register(meterRegistry);
+            Gauge.builder("users.email.filter.bits.set", filter, BloomFilter::bitsSet)
+                    .description("Bits set in the email filter")
+                    .register(meterRegistry);
+            log.info("Email filter sized for {} emails at fpp {}: {} bits, {} hash functions",
+                    expectedInsertions, falsePositiveRate, filter.bitCount(), filter.hashFunctions());
+        }
+    }
+
+    @Override
+    public boolean mightExist(String email) {
+        if (!warmed || email == null || filter.mightContain(email)) {
+            maybe.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /**
+     * Records a saved email. Must be called for every user written to the store.
+     */
+    public void add(String email) {
+        if (enabled && email != null) {
+            filter.put(email);
+        }
+    }
+
+    /**
+     * Loads every registered email into the filter and starts trusting negative answers.
+     * Emails saved while warming are added through {@link #add(String)} as usual.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long[] loaded = {0};
+        try {
+            emailSource.forEachEmail(email -> {
+                filter.put(email);
+                loaded[0]++;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not warm email filter, every sign-up will query the database", e);
+            return;
+        }
+        warmed = true;
+        log.info("Email filter warmed with {} emails in {} ms",
+                loaded[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+}
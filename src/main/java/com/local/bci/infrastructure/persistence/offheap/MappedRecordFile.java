@@ -0,0 +1,89 @@
+package com.local.bci.infrastructure.persistence.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File of fixed-size records, memory-mapped in segments.
+ * <p>
+ * A single mapping is limited to 2 GB, so the file is mapped as consecutive
+ * segments of {@code recordsPerSegment} records, each mapped when first needed.
+ * Records never straddle two segments. Not thread-safe: callers synchronize growth.
+ * </p>
+ */
+final class MappedRecordFile implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final long segmentBytes;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    MappedRecordFile(Path path, int recordSize, int recordsPerSegment) throws IOException {
+        if ((long) recordSize * recordsPerSegment > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment exceeds 2 GB");
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+        this.segmentBytes = (long) recordSize * recordsPerSegment;
+
+        long existingSegments = (channel.size() + segmentBytes - 1) / segmentBytes;
+        for (int i = 0; i < existingSegments; i++) {
+            mapSegment(i);
+        }
+    }
+
+    /**
+     * @return number of records the currently mapped segments can hold
+     */
+    int capacity() {
+        return segments.size() * recordsPerSegment;
+    }
+
+    /**
+     * Maps further segments until {@code slot} is addressable, growing the file.
+     */
+    void ensureCapacity(int slot) throws IOException {
+        while (slot >= capacity()) {
+            mapSegment(segments.size());
+        }
+    }
+
+    /**
+     * @return the mapped segment holding {@code slot}; use with {@link #offset(int)}
+     */
+    ByteBuffer segment(int slot) {
+        return segments.get(slot / recordsPerSegment);
+    }
+
+    /**
+     * @return the byte offset of {@code slot} within its segment
+     */
+    int offset(int slot) {
+        return (slot % recordsPerSegment) * recordSize;
+    }
+
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void mapSegment(int index) throws IOException {
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, index * segmentBytes, segmentBytes));
+    }
+}
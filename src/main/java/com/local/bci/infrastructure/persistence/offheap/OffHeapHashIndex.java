@@ -0,0 +1,134 @@
+package com.local.bci.infrastructure.persistence.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntPredicate;
+
+/**
+ * Open-addressing hash index from a 64-bit key hash to a record slot, stored in a
+ * direct {@link ByteBuffer} outside the Java heap.
+ * <p>
+ * Each entry takes 16 bytes: the key hash and the slot plus one, where 0 marks an
+ * empty entry and -1 a removed one. Hashes may collide, so lookups confirm every
+ * candidate slot with a caller-supplied predicate against the record itself.
+ * The table doubles once live and removed entries exceed 60% of its capacity.
+ * Not thread-safe: callers synchronize access.
+ * </p>
+ */
+final class OffHeapHashIndex {
+
+    private static final int ENTRY_SIZE = 16;
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+    private static final double MAX_LOAD = 0.6;
+
+    private ByteBuffer table;
+    private int capacity;
+    private int mask;
+    private int size;
+    private int removed;
+
+    OffHeapHashIndex(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    /**
+     * @return the slot whose key has this hash and satisfies {@code matches}, or -1
+     */
+    int find(long hash, IntPredicate matches) {
+        for (int i = index(hash); ; i = (i + 1) & mask) {
+            int offset = i * ENTRY_SIZE;
+            int marker = table.getInt(offset + 8);
+            if (marker == EMPTY) {
+                return -1;
+            }
+            if (marker != REMOVED && table.getLong(offset) == hash && matches.test(marker - 1)) {
+                return marker - 1;
+            }
+        }
+    }
+
+    /**
+     * Adds an entry. The caller guarantees the key is not already present.
+     */
+    void put(long hash, int slot) {
+        if (size + removed + 1 > capacity * MAX_LOAD) {
+            rehash(size + 1 > capacity * MAX_LOAD / 2 ? capacity * 2 : capacity);
+        }
+        insert(hash, slot);
+        size++;
+    }
+
+    /**
+     * Removes the entry pointing at {@code slot} under {@code hash}, if any.
+     */
+    void remove(long hash, int slot) {
+        for (int i = index(hash); ; i = (i + 1) & mask) {
+            int offset = i * ENTRY_SIZE;
+            int marker = table.getInt(offset + 8);
+            if (marker == EMPTY) {
+                return;
+            }
+            if (marker == slot + 1 && table.getLong(offset) == hash) {
+                table.putInt(offset + 8, REMOVED);
+                size--;
+                removed++;
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long sizeInBytes() {
+        return (long) capacity * ENTRY_SIZE;
+    }
+
+    private void insert(long hash, int slot) {
+        for (int i = index(hash); ; i = (i + 1) & mask) {
+            int offset = i * ENTRY_SIZE;
+            int marker = table.getInt(offset + 8);
+            if (marker == EMPTY || marker == REMOVED) {
+                if (marker == REMOVED) {
+                    removed--;
+                }
+                table.putLong(offset, hash);
+                table.putInt(offset + 8, slot + 1);
+                return;
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer old = this.table;
+        int oldCapacity = this.capacity;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            int offset = i * ENTRY_SIZE;
+            int marker = old.getInt(offset + 8);
+            if (marker != EMPTY && marker != REMOVED) {
+                insert(old.getLong(offset), marker - 1);
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        if (tableSize > Integer.MAX_VALUE / ENTRY_SIZE) {
+            throw new IllegalStateException("Off-heap index cannot grow beyond " + capacity + " entries");
+        }
+        this.table = ByteBuffer.allocateDirect(tableSize * ENTRY_SIZE);
+        this.capacity = tableSize;
+        this.mask = tableSize - 1;
+        this.removed = 0;
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedEntries) {
+        int needed = (int) Math.min(1 << 30, Math.max(1024L, (long) (expectedEntries / MAX_LOAD) + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,620 @@
+package com.local.bci.infrastructure.persistence.offheap;
+
+import com.local.bci.domain.model.PhoneModel;
+import com.local.bci.domain.model.UserLimits;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.ListUserEmailsPort;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.security.TokenDigest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link UserStore} that keeps users in a memory-mapped file of fixed-size records.
+ * <p>
+ * Users live outside the Java heap: each one occupies a {@value #RECORD_SIZE} byte
+ * record in the mapped file and is only turned into a {@link UserModel} when read.
+ * Primary key, email and token digest indexes are open-addressing tables in direct
+ * memory, rebuilt by scanning the file on startup. Records are appended and updated
+ * in place, never deleted.
+ * </p>
+ * <p>
+ * The layout bounds every field: at most {@value #MAX_PHONES} phones, and names,
+ * emails, password hashes and tokens up to the sizes of their slots in UTF-8. A user
+ * that does not fit is rejected with {@link UserPersistenceException}; the limits
+ * that sign-up requests can exceed are published as {@link #LIMITS}. Reads share a
+ * read lock and writes take the write lock. Data reaches the file through the page
+ * cache; {@link #close()} forces it to disk.
+ * </p>
+ */
+@Slf4j
+public class OffHeapUserStore implements UserStore, ListUserEmailsPort, AutoCloseable {
+
+    static final int RECORD_SIZE = 1536;
+    static final int MAX_PHONES = 4;
+
+    private static final byte USED = 1;
+
+    private static final int OFF_STATUS = 0;
+    private static final int OFF_ACTIVE = 1;
+    private static final int OFF_PHONE_COUNT = 2;
+    private static final int OFF_ID_MSB = 8;
+    private static final int OFF_ID_LSB = 16;
+    private static final int OFF_CREATED_SECONDS = 24;
+    private static final int OFF_CREATED_NANOS = 32;
+    private static final int OFF_LAST_LOGIN_NANOS = 36;
+    private static final int OFF_LAST_LOGIN_SECONDS = 40;
+    private static final int OFF_PHONES = 64;
+    private static final int PHONE_SIZE = 24;
+    private static final int PHONE_COUNTRY_CODE = 12;
+
+    private static final int NAME = 160;
+    private static final int NAME_SIZE = 96;
+    private static final int PASSWORD = 256;
+    private static final int PASSWORD_SIZE = 128;
+    private static final int EMAIL = 384;
+    private static final int EMAIL_SIZE = 256;
+    private static final int TOKEN = 640;
+    private static final int TOKEN_SIZE = 896;
+
+    /**
+     * Limits of the fields taken from sign-up requests; the rest always fit.
+     */
+    public static final UserLimits LIMITS = new UserLimits(MAX_PHONES, NAME_SIZE - 2, EMAIL_SIZE - 2,
+            PHONE_SIZE - PHONE_COUNTRY_CODE - 2);
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final byte NULL_BYTE = (byte) 0xFF;
+    private static final long NULL_SECONDS = Long.MIN_VALUE;
+    private static final long NULL_NUMBER = Long.MIN_VALUE;
+    private static final int NULL_CITY_CODE = Integer.MIN_VALUE;
+
+    private static final int NAME_FIELD = 0;
+    private static final int EMAIL_FIELD = 1;
+    private static final int PASSWORD_FIELD = 2;
+    private static final int TOKEN_FIELD = 3;
+
+    private final MappedRecordFile file;
+    private final OffHeapHashIndex idIndex;
+    private final OffHeapHashIndex emailIndex;
+    private final OffHeapHashIndex tokenIndex;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int count;
+
+    /**
+     * Opens or creates the store and rebuilds its indexes from the existing records.
+     *
+     * @param path              file holding the records
+     * @param recordsPerSegment records per mapped segment; the file grows by one segment at a time
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public OffHeapUserStore(Path path, int recordsPerSegment) throws IOException {
+        this.file = new MappedRecordFile(path, RECORD_SIZE, recordsPerSegment);
+        while (count < file.capacity() && file.segment(count).get(file.offset(count) + OFF_STATUS) == USED) {
+            count++;
+        }
+        this.idIndex = new OffHeapHashIndex(count);
+        this.emailIndex = new OffHeapHashIndex(count);
+        this.tokenIndex = new OffHeapHashIndex(count);
+        for (int slot = 0; slot < count; slot++) {
+            index(slot);
+        }
+        log.info("Off-heap user store opened at {} with {} users", path, count);
+    }
+
+    /**
+     * Inserts a user, or overwrites the user with the same id.
+     *
+     * @throws UserPersistenceException if the email or token belongs to another user,
+     *                                  or the user does not fit in a record
+     */
+    @Override
+    public UserModel apply(UserModel userModel) {
+        byte[][] fields = encode(userModel, "Failed to save user");
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = slotOf(userModel.getId());
+            int emailOwner = owner(emailIndex, emailHash(fields[EMAIL_FIELD]), EMAIL, fields[EMAIL_FIELD]);
+            int tokenOwner = tokenOwner(userModel.getToken(), fields[TOKEN_FIELD]);
+            if ((emailOwner >= 0 && emailOwner != slot) || (tokenOwner >= 0 && tokenOwner != slot)) {
+                throw new UserPersistenceException("Failed to save user", null);
+            }
+            if (slot < 0) {
+                insert(userModel, fields);
+            } else {
+                unindex(slot);
+                write(slot, userModel, fields);
+                index(slot);
+            }
+            return userModel;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Inserts a new user.
+     *
+     * @throws UserExistsException      if the email is already registered
+     * @throws UserPersistenceException if the id or token is taken, or the user does not fit in a record
+     */
+    @Override
+    public UserModel create(UserModel user) {
+        byte[][] fields = encode(user, "Failed to save user");
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            if (owner(emailIndex, emailHash(fields[EMAIL_FIELD]), EMAIL, fields[EMAIL_FIELD]) >= 0) {
+                throw UserExistsException.INSTANCE;
+            }
+            if (slotOf(user.getId()) >= 0 || tokenOwner(user.getToken(), fields[TOKEN_FIELD]) >= 0) {
+                throw new UserPersistenceException("Failed to save user", null);
+            }
+            insert(user, fields);
+            return user;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Inserts several new users, all or none.
+     *
+     * @throws UserPersistenceException if any email, id or token is already taken, repeated
+     *                                  within the batch, or a user does not fit in a record
+     */
+    @Override
+    public List<UserModel> saveAll(List<UserModel> users) {
+        List<byte[][]> encoded = new ArrayList<>(users.size());
+        for (UserModel user : users) {
+            encoded.add(encode(user, "Failed to save users"));
+        }
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            Set<String> emails = new HashSet<>();
+            Set<UUID> ids = new HashSet<>();
+            Set<String> tokens = new HashSet<>();
+            for (int i = 0; i < users.size(); i++) {
+                UserModel user = users.get(i);
+                byte[][] fields = encoded.get(i);
+                boolean conflict = !emails.add(user.getEmail()) || !ids.add(user.getId())
+                        || (user.getToken() != null && !tokens.add(user.getToken()))
+                        || owner(emailIndex, emailHash(fields[EMAIL_FIELD]), EMAIL, fields[EMAIL_FIELD]) >= 0
+                        || slotOf(user.getId()) >= 0
+                        || tokenOwner(user.getToken(), fields[TOKEN_FIELD]) >= 0;
+                if (conflict) {
+                    throw new UserPersistenceException("Failed to save users", null);
+                }
+            }
+            for (int i = 0; i < users.size(); i++) {
+                insert(users.get(i), encoded.get(i));
+            }
+            return new ArrayList<>(users);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        byte[] key = utf8(email);
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return owner(emailIndex, emailHash(key), EMAIL, key) >= 0;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Optional<UserModel> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        byte[] key = utf8(email);
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int slot = owner(emailIndex, emailHash(key), EMAIL, key);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Optional<UserModel> findByToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        byte[] key = utf8(token);
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int slot = owner(tokenIndex, tokenHash(token), TOKEN, key);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Rewrites only the last login date and token of an existing user, provided it
+     * still holds {@code previousToken}.
+     *
+     * @return 1 if the user was updated, 0 if it is unknown or holds another token
+     * @throws UserPersistenceException if the new token belongs to another user
+     */
+    @Override
+    public int updateLogin(UserModel user, String previousToken) {
+        byte[] token = bounded(user.getToken(), TOKEN_SIZE, "Failed to save user");
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = slotOf(user.getId());
+            if (slot < 0) {
+                return 0;
+            }
+            ByteBuffer segment = file.segment(slot);
+            int base = file.offset(slot);
+            String oldToken = readString(segment, base + TOKEN);
+            if (!Objects.equals(oldToken, previousToken)) {
+                return 0;
+            }
+            int tokenOwner = tokenOwner(user.getToken(), token);
+            if (tokenOwner >= 0 && tokenOwner != slot) {
+                throw new UserPersistenceException("Failed to save user", null);
+            }
+            if (oldToken != null) {
+                tokenIndex.remove(tokenHash(oldToken), slot);
+            }
+            putDateTime(segment, base + OFF_LAST_LOGIN_SECONDS, base + OFF_LAST_LOGIN_NANOS, user.getLastLogin());
+            putBytes(segment, base + TOKEN, token);
+            if (user.getToken() != null) {
+                tokenIndex.put(tokenHash(user.getToken()), slot);
+            }
+            return 1;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            for (String email : emails) {
+                if (email == null) {
+                    continue;
+                }
+                byte[] key = utf8(email);
+                if (owner(emailIndex, emailHash(key), EMAIL, key) >= 0) {
+                    existing.add(email);
+                }
+            }
+            return existing;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void forEachEmail(Consumer<String> action) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            for (int slot = 0; slot < count; slot++) {
+                action.accept(readString(file.segment(slot), file.offset(slot) + EMAIL));
+            }
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * @return number of users stored
+     */
+    public int size() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return count;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Flushes the mapped records to disk and releases the file.
+     */
+    @Override
+    public void close() throws IOException {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            file.close();
+            log.info("Off-heap user store closed with {} users", count);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    private static byte[][] encode(UserModel user, String failure) {
+        if (user.getId() == null || user.getEmail() == null) {
+            throw new UserPersistenceException(failure, null);
+        }
+        if (user.getPhones() != null && user.getPhones().size() > MAX_PHONES) {
+            throw new UserPersistenceException(failure + ": more than " + MAX_PHONES + " phones", null);
+        }
+        if (user.getPhones() != null) {
+            for (PhoneModel phone : user.getPhones()) {
+                bounded(phone.getCountryCode(), PHONE_SIZE - PHONE_COUNTRY_CODE, failure);
+            }
+        }
+        byte[][] fields = new byte[4][];
+        fields[NAME_FIELD] = bounded(user.getName(), NAME_SIZE, failure);
+        fields[EMAIL_FIELD] = bounded(user.getEmail(), EMAIL_SIZE, failure);
+        fields[PASSWORD_FIELD] = bounded(user.getPasswordEncrypted(), PASSWORD_SIZE, failure);
+        fields[TOKEN_FIELD] = bounded(user.getToken(), TOKEN_SIZE, failure);
+        return fields;
+    }
+
+    private static byte[] bounded(String value, int slotSize, String failure) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = utf8(value);
+        if (bytes.length > slotSize - 2) {
+            throw new UserPersistenceException(failure + ": field exceeds " + (slotSize - 2) + " bytes", null);
+        }
+        return bytes;
+    }
+
+    private void insert(UserModel user, byte[][] fields) {
+        int slot = count;
+        try {
+            file.ensureCapacity(slot);
+        } catch (IOException e) {
+            throw new UserPersistenceException("Failed to grow off-heap user store", e);
+        }
+        write(slot, user, fields);
+        file.segment(slot).put(file.offset(slot) + OFF_STATUS, USED);
+        count++;
+        index(slot);
+    }
+
+    private void write(int slot, UserModel user, byte[][] fields) {
+        ByteBuffer segment = file.segment(slot);
+        int base = file.offset(slot);
+
+        segment.put(base + OFF_ACTIVE, (byte) (user.getIsActive() == null ? 0 : user.getIsActive() ? 2 : 1));
+        segment.putLong(base + OFF_ID_MSB, user.getId().getMostSignificantBits());
+        segment.putLong(base + OFF_ID_LSB, user.getId().getLeastSignificantBits());
+        putDateTime(segment, base + OFF_CREATED_SECONDS, base + OFF_CREATED_NANOS, user.getCreated());
+        putDateTime(segment, base + OFF_LAST_LOGIN_SECONDS, base + OFF_LAST_LOGIN_NANOS, user.getLastLogin());
+
+        List<PhoneModel> phones = user.getPhones();
+        segment.put(base + OFF_PHONE_COUNT, phones == null ? NULL_BYTE : (byte) phones.size());
+        if (phones != null) {
+            for (int i = 0; i < phones.size(); i++) {
+                putPhone(segment, base + OFF_PHONES + i * PHONE_SIZE, phones.get(i));
+            }
+        }
+
+        putBytes(segment, base + NAME, fields[NAME_FIELD]);
+        putBytes(segment, base + EMAIL, fields[EMAIL_FIELD]);
+        putBytes(segment, base + PASSWORD, fields[PASSWORD_FIELD]);
+        putBytes(segment, base + TOKEN, fields[TOKEN_FIELD]);
+    }
+
+    private UserModel read(int slot) {
+        ByteBuffer segment = file.segment(slot);
+        int base = file.offset(slot);
+
+        UserModel user = new UserModel();
+        user.setId(new UUID(segment.getLong(base + OFF_ID_MSB), segment.getLong(base + OFF_ID_LSB)));
+        byte active = segment.get(base + OFF_ACTIVE);
+        user.setIsActive(active == 0 ? null : active == 2);
+        user.setCreated(getDateTime(segment, base + OFF_CREATED_SECONDS, base + OFF_CREATED_NANOS));
+        user.setLastLogin(getDateTime(segment, base + OFF_LAST_LOGIN_SECONDS, base + OFF_LAST_LOGIN_NANOS));
+        user.setName(readString(segment, base + NAME));
+        user.setEmail(readString(segment, base + EMAIL));
+        user.setPasswordEncrypted(readString(segment, base + PASSWORD));
+        user.setToken(readString(segment, base + TOKEN));
+
+        byte phoneCount = segment.get(base + OFF_PHONE_COUNT);
+        if (phoneCount != NULL_BYTE) {
+            List<PhoneModel> phones = new ArrayList<>(phoneCount);
+            for (int i = 0; i < phoneCount; i++) {
+                phones.add(getPhone(segment, base + OFF_PHONES + i * PHONE_SIZE));
+            }
+            user.setPhones(phones);
+        }
+        return user;
+    }
+
+    private static void putPhone(ByteBuffer segment, int offset, PhoneModel phone) {
+        segment.putLong(offset, phone.getNumber() == null ? NULL_NUMBER : phone.getNumber());
+        segment.putInt(offset + 8, phone.getCityCode() == null ? NULL_CITY_CODE : phone.getCityCode());
+        byte[] countryCode = phone.getCountryCode() == null ? null : utf8(phone.getCountryCode());
+        segment.put(offset + PHONE_COUNTRY_CODE, countryCode == null ? NULL_BYTE : (byte) countryCode.length);
+        if (countryCode != null) {
+            for (int i = 0; i < countryCode.length; i++) {
+                segment.put(offset + PHONE_COUNTRY_CODE + 1 + i, countryCode[i]);
+            }
+        }
+    }
+
+    private static PhoneModel getPhone(ByteBuffer segment, int offset) {
+        PhoneModel phone = new PhoneModel();
+        long number = segment.getLong(offset);
+        phone.setNumber(number == NULL_NUMBER ? null : number);
+        int cityCode = segment.getInt(offset + 8);
+        phone.setCityCode(cityCode == NULL_CITY_CODE ? null : cityCode);
+        byte length = segment.get(offset + PHONE_COUNTRY_CODE);
+        if (length != NULL_BYTE) {
+            byte[] countryCode = new byte[length];
+            for (int i = 0; i < length; i++) {
+                countryCode[i] = segment.get(offset + PHONE_COUNTRY_CODE + 1 + i);
+            }
+            phone.setCountryCode(new String(countryCode, StandardCharsets.UTF_8));
+        }
+        return phone;
+    }
+
+    private static void putDateTime(ByteBuffer segment, int secondsOffset, int nanosOffset, LocalDateTime value) {
+        segment.putLong(secondsOffset, value == null ? NULL_SECONDS : value.toEpochSecond(ZoneOffset.UTC));
+        segment.putInt(nanosOffset, value == null ? 0 : value.getNano());
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer segment, int secondsOffset, int nanosOffset) {
+        long seconds = segment.getLong(secondsOffset);
+        return seconds == NULL_SECONDS
+                ? null
+                : LocalDateTime.ofEpochSecond(seconds, segment.getInt(nanosOffset), ZoneOffset.UTC);
+    }
+
+    private static void putBytes(ByteBuffer segment, int offset, byte[] value) {
+        if (value == null) {
+            segment.putShort(offset, (short) NULL_LENGTH);
+            return;
+        }
+        segment.putShort(offset, (short) value.length);
+        ByteBuffer target = segment.duplicate();
+        target.position(offset + 2);
+        target.put(value);
+    }
+
+    private static String readString(ByteBuffer segment, int offset) {
+        int length = segment.getShort(offset) & 0xFFFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer source = segment.duplicate();
+        source.position(offset + 2);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean fieldEquals(int slot, int fieldOffset, byte[] value) {
+        ByteBuffer segment = file.segment(slot);
+        int offset = file.offset(slot) + fieldOffset;
+        if ((segment.getShort(offset) & 0xFFFF) != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (segment.get(offset + 2 + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(int slot) {
+        ByteBuffer segment = file.segment(slot);
+        int base = file.offset(slot);
+        idIndex.put(idHash(segment.getLong(base + OFF_ID_MSB), segment.getLong(base + OFF_ID_LSB)), slot);
+        String email = readString(segment, base + EMAIL);
+        emailIndex.put(emailHash(utf8(email)), slot);
+        String token = readString(segment, base + TOKEN);
+        if (token != null) {
+            tokenIndex.put(tokenHash(token), slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        ByteBuffer segment = file.segment(slot);
+        int base = file.offset(slot);
+        idIndex.remove(idHash(segment.getLong(base + OFF_ID_MSB), segment.getLong(base + OFF_ID_LSB)), slot);
+        emailIndex.remove(emailHash(utf8(readString(segment, base + EMAIL))), slot);
+        String token = readString(segment, base + TOKEN);
+        if (token != null) {
+            tokenIndex.remove(tokenHash(token), slot);
+        }
+    }
+
+    private int slotOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        return idIndex.find(idHash(msb, lsb), candidate -> {
+            ByteBuffer segment = file.segment(candidate);
+            int base = file.offset(candidate);
+            return segment.getLong(base + OFF_ID_MSB) == msb && segment.getLong(base + OFF_ID_LSB) == lsb;
+        });
+    }
+
+    private int owner(OffHeapHashIndex index, long hash, int fieldOffset, byte[] value) {
+        return index.find(hash, candidate -> fieldEquals(candidate, fieldOffset, value));
+    }
+
+    private int tokenOwner(String token, byte[] encoded) {
+        return token == null ? -1 : owner(tokenIndex, tokenHash(token), TOKEN, encoded);
+    }
+
+    private static long idHash(long msb, long lsb) {
+        return mix(msb ^ Long.rotateLeft(lsb, 32));
+    }
+
+    private static long emailHash(byte[] email) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : email) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long tokenHash(String token) {
+        return TokenDigest.prefix(token);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
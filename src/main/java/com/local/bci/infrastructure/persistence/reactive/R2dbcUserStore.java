@@ -0,0 +1,224 @@
+package com.local.bci.infrastructure.persistence.reactive;
+
+import com.local.bci.domain.model.PhoneModel;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.reactive.ReactiveCreateUserPort;
+import com.local.bci.domain.port.reactive.ReactiveExistsUserByEmailPort;
+import com.local.bci.domain.port.reactive.ReactiveFindUserByTokenPort;
+import com.local.bci.domain.port.reactive.ReactiveUpdateLoginPort;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.security.TokenDigest;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Non-blocking user store of the {@code reactive} profile, on R2DBC.
+ * <p>
+ * Implements {@link ReactiveCreateUserPort}, {@link ReactiveExistsUserByEmailPort},
+ * {@link ReactiveFindUserByTokenPort} and {@link ReactiveUpdateLoginPort} with plain SQL
+ * through {@link DatabaseClient}, over the schema in {@code db/reactive-schema.sql},
+ * which mirrors the JPA mapping. Tokens are looked up and compared through their
+ * {@link TokenDigest}, as in the JPA adapter, and a user is inserted with its phones
+ * in one transaction.
+ * </p>
+ * <p>
+ * A violation of {@value UserEntity#EMAIL_CONSTRAINT} is reported as
+ * {@link UserExistsException}; any other database error as {@link UserPersistenceException}.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class R2dbcUserStore implements ReactiveCreateUserPort, ReactiveExistsUserByEmailPort,
+        ReactiveFindUserByTokenPort, ReactiveUpdateLoginPort {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, created, last_login, token, token_digest, is_active, name, email, password) "
+                    + "VALUES (:id, :created, :lastLogin, :token, :tokenDigest, :isActive, :name, :email, :password)";
+    private static final String INSERT_PHONE =
+            "INSERT INTO phones (user_id, number, city_code, country_code) "
+                    + "VALUES (:userId, :number, :cityCode, :countryCode)";
+    private static final String EXISTS_BY_EMAIL = "SELECT 1 FROM users WHERE email = :email";
+    private static final String FIND_BY_TOKEN_DIGEST =
+            "SELECT id, created, last_login, token, is_active, name, email, password "
+                    + "FROM users WHERE token_digest = :tokenDigest";
+    private static final String FIND_PHONES =
+            "SELECT number, city_code, country_code FROM phones WHERE user_id = :userId ORDER BY id";
+    private static final String UPDATE_LOGIN =
+            "UPDATE users SET last_login = :lastLogin, token = :token, token_digest = :tokenDigest "
+                    + "WHERE id = :id AND token_digest = :previousTokenDigest";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public R2dbcUserStore(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Inserts a new user and its phones in one transaction, relying on the unique
+     * constraint on its email.
+     *
+     * @param user domain model of the new user
+     * @return a {@link Mono} of the saved {@link UserModel}, failing with
+     *         {@link UserExistsException} if the email is already registered
+     */
+    @Override
+    public Mono<UserModel> create(UserModel user) {
+        GenericExecuteSpec insertUser = databaseClient.sql(INSERT_USER)
+                .bind("id", user.getId());
+        insertUser = bind(insertUser, "created", user.getCreated(), LocalDateTime.class);
+        insertUser = bind(insertUser, "lastLogin", user.getLastLogin(), LocalDateTime.class);
+        insertUser = bind(insertUser, "token", user.getToken(), String.class);
+        insertUser = bind(insertUser, "tokenDigest", TokenDigest.of(user.getToken()), String.class);
+        insertUser = bind(insertUser, "isActive", user.getIsActive(), Boolean.class);
+        insertUser = bind(insertUser, "name", user.getName(), String.class);
+        insertUser = bind(insertUser, "email", user.getEmail(), String.class);
+        insertUser = bind(insertUser, "password", user.getPasswordEncrypted(), String.class);
+
+        Flux<Integer> insertPhones = user.getPhones() == null
+                ? Flux.empty()
+                : Flux.fromIterable(user.getPhones()).concatMap(phone -> insertPhone(user.getId(), phone));
+
+        return insertUser.fetch().rowsUpdated()
+                .thenMany(insertPhones)
+                .then(Mono.just(user))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataAccessException.class, e -> {
+                    if (isEmailConflict(e)) {
+                        log.info("Sign-up rejected, email {} already registered", user.getEmail());
+                        return UserExistsException.INSTANCE;
+                    }
+                    log.error("Error creating user in database: {}", e.getMessage(), e);
+                    return new UserPersistenceException("Failed to save user", e);
+                });
+    }
+
+    /**
+     * Checks whether a user with the given email exists without loading it.
+     *
+     * @param email user email
+     * @return a {@link Mono} of {@code true} if the email is registered
+     */
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql(EXISTS_BY_EMAIL)
+                .bind("email", email)
+                .map((row, metadata) -> Boolean.TRUE)
+                .first()
+                .hasElement()
+                .onErrorMap(DataAccessException.class, e -> {
+                    log.error("Error checking user email {}: {}", email, e.getMessage(), e);
+                    return new UserPersistenceException("Failed to check user email", e);
+                });
+    }
+
+    /**
+     * Finds a user by JWT token through the unique digest index, then loads its phones.
+     *
+     * @param token user token
+     * @return a {@link Mono} of the {@link UserModel}, empty if no user holds the token
+     */
+    @Override
+    public Mono<UserModel> findByToken(String token) {
+        return databaseClient.sql(FIND_BY_TOKEN_DIGEST)
+                .bind("tokenDigest", TokenDigest.of(token))
+                .map((row, metadata) -> toUser(row))
+                .first()
+                .flatMap(user -> databaseClient.sql(FIND_PHONES)
+                        .bind("userId", user.getId())
+                        .map((row, metadata) -> toPhone(row))
+                        .all()
+                        .collectList()
+                        .map(phones -> {
+                            user.setPhones(phones);
+                            return user;
+                        }))
+                .onErrorMap(DataAccessException.class, e -> {
+                    log.error("Error finding user by token {}: {}", token, e.getMessage(), e);
+                    return new UserPersistenceException("Failed to find user by token", e);
+                });
+    }
+
+    /**
+     * Persists the refreshed last login date and token of a user with a single UPDATE
+     * that also matches the digest of {@code previousToken}, making it a compare-and-set.
+     *
+     * @param user          user carrying the new last login and token
+     * @param previousToken token the user logged in with
+     * @return a {@link Mono} of 1 if the user was updated, 0 if it no longer holds {@code previousToken}
+     */
+    @Override
+    public Mono<Integer> updateLogin(UserModel user, String previousToken) {
+        GenericExecuteSpec update = databaseClient.sql(UPDATE_LOGIN)
+                .bind("id", user.getId())
+                .bind("previousTokenDigest", TokenDigest.of(previousToken));
+        update = bind(update, "lastLogin", user.getLastLogin(), LocalDateTime.class);
+        update = bind(update, "token", user.getToken(), String.class);
+        update = bind(update, "tokenDigest", TokenDigest.of(user.getToken()), String.class);
+        return update.fetch().rowsUpdated()
+                .onErrorMap(DataAccessException.class, e -> {
+                    log.error("Error updating login of user {}: {}", user.getId(), e.getMessage(), e);
+                    return new UserPersistenceException("Failed to save user", e);
+                });
+    }
+
+    private Mono<Integer> insertPhone(UUID userId, PhoneModel phone) {
+        GenericExecuteSpec insert = databaseClient.sql(INSERT_PHONE).bind("userId", userId);
+        insert = bind(insert, "number", phone.getNumber(), Long.class);
+        insert = bind(insert, "cityCode", phone.getCityCode(), Integer.class);
+        insert = bind(insert, "countryCode", phone.getCountryCode(), String.class);
+        return insert.fetch().rowsUpdated();
+    }
+
+    private static <T> GenericExecuteSpec bind(GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static UserModel toUser(Row row) {
+        UserModel user = new UserModel();
+        user.setId(row.get("id", UUID.class));
+        user.setCreated(row.get("created", LocalDateTime.class));
+        user.setLastLogin(row.get("last_login", LocalDateTime.class));
+        user.setToken(row.get("token", String.class));
+        user.setIsActive(row.get("is_active", Boolean.class));
+        user.setName(row.get("name", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setPasswordEncrypted(row.get("password", String.class));
+        return user;
+    }
+
+    private static PhoneModel toPhone(Row row) {
+        return new PhoneModel(row.get("number", Long.class), row.get("city_code", Integer.class),
+                row.get("country_code", String.class));
+    }
+
+    private static boolean isEmailConflict(DataAccessException e) {
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(UserEntity.EMAIL_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.local.bci.infrastructure.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Picks the BCrypt strength that fits a latency budget on the current hardware.
+ * <p>
+ * Each candidate strength is timed over a few hashes, starting at the minimum and
+ * stepping up while the slowest of them stays within the budget. With a handful of
+ * samples the slowest hash is the only tail estimate that means anything, so the
+ * budget is checked against the maximum rather than a percentile. Since every step
+ * doubles the work factor, the search stops at the first strength over budget.
+ * </p>
+ */
+public final class BCryptCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibrat1on2";
+
+    private BCryptCalibrator() {
+    }
+
+    /**
+     * Benchmarks BCrypt hashing and returns the highest strength within budget.
+     *
+     * @param minStrength  lowest strength to consider, used even if it exceeds the budget
+     * @param maxStrength  highest strength to consider
+     * @param targetMillis budget for the slowest hash, in milliseconds
+     * @param samples      number of timed hashes per strength
+     * @return the chosen strength together with the slowest measured hash per strength
+     * @throws IllegalArgumentException if {@code minStrength} is above {@code maxStrength}
+     */
+    public static Result calibrate(int minStrength, int maxStrength, long targetMillis, int samples) {
+        if (minStrength > maxStrength) {
+            throw new IllegalArgumentException("app.security.bcrypt.min-strength " + minStrength
+                    + " is above app.security.bcrypt.max-strength " + maxStrength);
+        }
+        Map<Integer, Double> maxMillis = new LinkedHashMap<>();
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            double max = measureMax(strength, samples);
+            maxMillis.put(strength, max);
+            if (max > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+        return new Result(chosen, targetMillis, maxMillis);
+    }
+
+    private static double measureMax(int strength, int samples) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long max = 0;
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            max = Math.max(max, System.nanoTime() - start);
+        }
+        return max / 1_000_000.0;
+    }
+
+    /**
+     * Outcome of a calibration run.
+     */
+    public static final class Result {
+        private final int strength;
+        private final long targetMillis;
+        private final Map<Integer, Double> maxMillis;
+
+        Result(int strength, long targetMillis, Map<Integer, Double> maxMillis) {
+            this.strength = strength;
+            this.targetMillis = targetMillis;
+            this.maxMillis = Collections.unmodifiableMap(maxMillis);
+        }
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public long getTargetMillis() {
+            return targetMillis;
+        }
+
+        public Map<Integer, Double> getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.local.bci.infrastructure.security;
+
+import com.local.bci.infrastructure.concurrency.ScratchPool;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ES256 (ECDSA on P-256 with SHA-256) {@link JwtCodec} backed by a key ring.
+ * <p>
+ * Tokens are signed with the active key and carry its {@code kid} in the header.
+ * Verification picks the public key named by the token's {@code kid} among the
+ * active and retired keys, so keys can be rotated without invalidating tokens
+ * that are still live. The public half of the ring is published as a JWK set,
+ * which lets other services verify tokens without calling this one.
+ * </p>
+ * <p>
+ * Signatures use the JWS encoding (fixed-width {@code r || s}) produced directly
+ * by the {@code SHA256withECDSAinP1363Format} algorithm. Each thread reuses
+ * {@link Signature} instances and buffers from a {@link ScratchPool}.
+ * </p>
+ */
+public final class Es256JwtCodec implements JwtCodec {
+
+    private static final String ALGORITHM = "SHA256withECDSAinP1363Format";
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int SIGNATURE_CHARS = 86;
+    private static final int COORDINATE_LENGTH = 32;
+
+    private final String activeKeyId;
+    private final byte[] header;
+    private final Map<String, PublicKey> verificationKeys;
+    private final ScratchPool<Scratch> scratch;
+
+    /**
+     * Creates a codec signing with the active key and verifying with the whole ring.
+     *
+     * @param activeKeyId      {@code kid} of the signing key
+     * @param signingKey       private P-256 key used to sign new tokens
+     * @param verificationKeys public P-256 keys by {@code kid}, including the active one
+     * @throws IllegalArgumentException if the active key has no public key in the ring
+     */
+    public Es256JwtCodec(String activeKeyId, PrivateKey signingKey, Map<String, PublicKey> verificationKeys) {
+        if (!verificationKeys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("No public key for active kid " + activeKeyId);
+        }
+        this.activeKeyId = activeKeyId;
+        this.verificationKeys = Collections.unmodifiableMap(new LinkedHashMap<>(verificationKeys));
+        StringBuilder json = new StringBuilder("{\"alg\":\"ES256\",\"kid\":\"");
+        byte[] escaped = new byte[activeKeyId.length() * 6];
+        int length = JwtFormat.JsonReader.writeEscaped(activeKeyId, escaped, 0);
+        json.append(new String(escaped, 0, length, StandardCharsets.UTF_8)).append("\"}");
+        this.header = JwtFormat.base64Url(json.toString().getBytes(StandardCharsets.UTF_8));
+        this.scratch = new ScratchPool<>(() -> new Scratch(signingKey));
+    }
+
+    @Override
+    public String encode(String subject, UUID tokenId, UUID userId, long issuedAtSeconds, long expirationSeconds) {
+        Scratch s = scratch.acquire();
+        try {
+            return encode(s, subject, tokenId, userId, issuedAtSeconds, expirationSeconds);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private String encode(Scratch s, String subject, UUID tokenId, UUID userId,
+                          long issuedAtSeconds, long expirationSeconds) {
+
+        byte[] json = s.json(JwtFormat.claimsCapacity(subject));
+        int claimsLength = JwtFormat.writeClaims(subject, tokenId, userId, issuedAtSeconds, expirationSeconds, json);
+        int length = header.length + 1 + JwtFormat.base64UrlLength(claimsLength) + 1 + SIGNATURE_CHARS;
+        byte[] out = s.out(length);
+
+        System.arraycopy(header, 0, out, 0, header.length);
+        int pos = header.length;
+        out[pos++] = '.';
+        pos = JwtFormat.base64Url(json, claimsLength, out, pos);
+
+        byte[] signature;
+        try {
+            s.signer.update(out, 0, pos);
+            signature = s.signer.sign();
+        } catch (SignatureException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+        out[pos++] = '.';
+        pos = JwtFormat.base64Url(signature, SIGNATURE_LENGTH, out, pos);
+
+        return new String(out, 0, pos, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public TokenClaims decode(String token, long nowMillis) {
+        if (token == null) {
+            return null;
+        }
+        int length = token.length();
+        int headerEnd = token.indexOf('.');
+        int claimsEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (claimsEnd < 0 || token.indexOf('.', claimsEnd + 1) >= 0 || length - claimsEnd - 1 != SIGNATURE_CHARS) {
+            return null;
+        }
+
+        Scratch s = scratch.acquire();
+        try {
+            return decode(s, token, headerEnd, claimsEnd, nowMillis);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private TokenClaims decode(Scratch s, String token, int headerEnd, int claimsEnd, long nowMillis) {
+        int length = token.length();
+        byte[] in = s.in(length);
+        if (!JwtFormat.toAscii(token, in)) {
+            return null;
+        }
+
+        int headerLength = JwtFormat.decodeBase64Url(in, 0, headerEnd, s.json(headerEnd));
+        JwtFormat.JsonReader header = headerLength < 0 ? null : JwtFormat.JsonReader.readHeader(s.json, headerLength);
+        if (header == null || !"ES256".equals(header.algorithm()) || header.keyId() == null) {
+            return null;
+        }
+        PublicKey key = verificationKeys.get(header.keyId());
+        if (key == null) {
+            return null;
+        }
+
+        if (JwtFormat.decodeBase64Url(in, claimsEnd + 1, length, s.presented) != SIGNATURE_LENGTH) {
+            return null;
+        }
+        try {
+            s.verifier.initVerify(key);
+            s.verifier.update(in, 0, claimsEnd);
+            if (!s.verifier.verify(s.presented)) {
+                return null;
+            }
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+
+        int claimsLength = JwtFormat.decodeBase64Url(in, headerEnd + 1, claimsEnd, s.json(claimsEnd - headerEnd - 1));
+        JwtFormat.JsonReader claims = claimsLength < 0 ? null : JwtFormat.JsonReader.readClaims(s.json, claimsLength);
+        return claims == null ? null : JwtFormat.toTokenClaims(claims, nowMillis);
+    }
+
+    /**
+     * Returns the {@code kid} of the signing key.
+     *
+     * @return the active key id
+     */
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Returns the public keys of the ring as JWKs (RFC 7517), active key first.
+     *
+     * @return one JWK per key, with {@code kty}, {@code crv}, {@code x}, {@code y},
+     *         {@code use}, {@code alg} and {@code kid} members
+     */
+    public List<Map<String, String>> publicJwks() {
+        List<Map<String, String>> keys = new ArrayList<>(verificationKeys.size());
+        keys.add(jwk(activeKeyId, verificationKeys.get(activeKeyId)));
+        verificationKeys.forEach((kid, key) -> {
+            if (!kid.equals(activeKeyId)) {
+                keys.add(jwk(kid, key));
+            }
+        });
+        return keys;
+    }
+
+    private static Map<String, String> jwk(String kid, PublicKey key) {
+        ECPublicKey ecKey = (ECPublicKey) key;
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", coordinate(ecKey.getW().getAffineX()));
+        jwk.put("y", coordinate(ecKey.getW().getAffineY()));
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("kid", kid);
+        return jwk;
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[COORDINATE_LENGTH];
+        int copy = Math.min(bytes.length, COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - copy, fixed, COORDINATE_LENGTH - copy, copy);
+        return new String(JwtFormat.base64Url(fixed), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reusable {@link Signature} instances and buffers, grown on demand and reused across tokens.
+     */
+    private static final class Scratch {
+        private final Signature signer;
+        private final Signature verifier;
+        private final byte[] presented = new byte[SIGNATURE_LENGTH];
+        private byte[] json = new byte[256];
+        private byte[] in = new byte[512];
+        private byte[] out = new byte[512];
+
+        private Scratch(PrivateKey signingKey) {
+            try {
+                signer = Signature.getInstance(ALGORITHM);
+                signer.initSign(signingKey);
+                verifier = Signature.getInstance(ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        }
+
+        private byte[] json(int capacity) {
+            if (json.length < capacity) {
+                json = new byte[capacity];
+            }
+            return json;
+        }
+
+        private byte[] in(int capacity) {
+            if (in.length < capacity) {
+                in = new byte[capacity];
+            }
+            return in;
+        }
+
+        private byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.local.bci.infrastructure.security;
+
+import com.local.bci.infrastructure.concurrency.ScratchPool;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * HS256 {@link JwtCodec} for the fixed claim set used by the service
+ * ({@code sub}, {@code iat}, {@code exp}).
+ * <p>
+ * Tokens are byte-for-byte what jjwt 0.9.1 produced for the same claims: header
+ * {@code {"alg":"HS256"}}, claims in {@code sub, iat, exp} order with dates in
+ * seconds, base64url without padding, and a signing key derived from the secret
+ * with the same lenient base64 decoding jjwt applied to string secrets. Tokens
+ * issued before this codec was introduced therefore keep verifying.
+ * </p>
+ * <p>
+ * The key is built once. Each thread reuses a {@link Mac} and scratch buffers from a
+ * {@link ScratchPool}, so encoding allocates only the resulting string and decoding only the
+ * subject and the returned {@link TokenClaims}. Signatures are compared in constant
+ * time with {@link MessageDigest#isEqual(byte[], byte[])}.
+ * </p>
+ */
+public final class Hs256JwtCodec implements JwtCodec {
+
+    static final String HEADER_SEGMENT = "eyJhbGciOiJIUzI1NiJ9";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int SIGNATURE_CHARS = 43;
+
+    private static final byte[] HEADER = HEADER_SEGMENT.getBytes(StandardCharsets.US_ASCII);
+
+    private final SecretKeySpec key;
+    private final ScratchPool<Scratch> scratch;
+
+    /**
+     * Creates a codec signing with the given secret.
+     *
+     * @param secret base64 secret, decoded the way jjwt 0.9.1 decoded string keys
+     */
+    public Hs256JwtCodec(String secret) {
+        this.key = new SecretKeySpec(LegacyBase64.decode(secret), ALGORITHM);
+        this.scratch = new ScratchPool<>(() -> new Scratch(key));
+    }
+
+    @Override
+    public String encode(String subject, UUID tokenId, UUID userId, long issuedAtSeconds, long expirationSeconds) {
+        Scratch s = scratch.acquire();
+        try {
+            return encode(s, subject, tokenId, userId, issuedAtSeconds, expirationSeconds);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private String encode(Scratch s, String subject, UUID tokenId, UUID userId,
+                          long issuedAtSeconds, long expirationSeconds) {
+
+        byte[] json = s.json(JwtFormat.claimsCapacity(subject));
+        int claimsLength = JwtFormat.writeClaims(subject, tokenId, userId, issuedAtSeconds, expirationSeconds, json);
+        int length = HEADER.length + 1 + JwtFormat.base64UrlLength(claimsLength) + 1 + SIGNATURE_CHARS;
+        byte[] out = s.out(length);
+
+        System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+        int pos = HEADER.length;
+        out[pos++] = '.';
+        pos = JwtFormat.base64Url(json, claimsLength, out, pos);
+
+        s.mac.update(out, 0, pos);
+        s.sign();
+        out[pos++] = '.';
+        pos = JwtFormat.base64Url(s.signature, SIGNATURE_LENGTH, out, pos);
+
+        return new String(out, 0, pos, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public TokenClaims decode(String token, long nowMillis) {
+        if (token == null) {
+            return null;
+        }
+        int length = token.length();
+        int headerEnd = token.indexOf('.');
+        int claimsEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (claimsEnd < 0 || token.indexOf('.', claimsEnd + 1) >= 0 || length - claimsEnd - 1 != SIGNATURE_CHARS) {
+            return null;
+        }
+
+        Scratch s = scratch.acquire();
+        try {
+            return decode(s, token, headerEnd, claimsEnd, nowMillis);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private TokenClaims decode(Scratch s, String token, int headerEnd, int claimsEnd, long nowMillis) {
+        int length = token.length();
+        byte[] in = s.in(length);
+        if (!JwtFormat.toAscii(token, in)) {
+            return null;
+        }
+
+        if (JwtFormat.decodeBase64Url(in, claimsEnd + 1, length, s.presented) != SIGNATURE_LENGTH) {
+            return null;
+        }
+        s.mac.update(in, 0, claimsEnd);
+        s.sign();
+        if (!MessageDigest.isEqual(s.signature, s.presented)) {
+            return null;
+        }
+
+        int headerLength = JwtFormat.decodeBase64Url(in, 0, headerEnd, s.json(headerEnd));
+        JwtFormat.JsonReader header = headerLength < 0 ? null : JwtFormat.JsonReader.readHeader(s.json, headerLength);
+        if (header == null || !"HS256".equals(header.algorithm())) {
+            return null;
+        }
+        int claimsLength = JwtFormat.decodeBase64Url(in, headerEnd + 1, claimsEnd, s.json(claimsEnd - headerEnd - 1));
+        JwtFormat.JsonReader claims = claimsLength < 0 ? null : JwtFormat.JsonReader.readClaims(s.json, claimsLength);
+        return claims == null ? null : JwtFormat.toTokenClaims(claims, nowMillis);
+    }
+
+    /**
+     * Reusable {@link Mac} and buffers, grown on demand and reused across tokens.
+     */
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private final byte[] presented = new byte[SIGNATURE_LENGTH];
+        private byte[] json = new byte[256];
+        private byte[] in = new byte[512];
+        private byte[] out = new byte[512];
+
+        private Scratch(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        }
+
+        private void sign() {
+            try {
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private byte[] json(int capacity) {
+            if (json.length < capacity) {
+                json = new byte[capacity];
+            }
+            return json;
+        }
+
+        private byte[] in(int capacity) {
+            if (in.length < capacity) {
+                in = new byte[capacity];
+            }
+            return in;
+        }
+
+        private byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Lenient base64 decoding of string secrets, as performed by jjwt 0.9.1 through
+     * {@code DatatypeConverter.parseBase64Binary}: characters outside the base64
+     * alphabet are ignored and a trailing incomplete quadruplet is dropped.
+     */
+    static final class LegacyBase64 {
+
+        private static final int PADDING = 127;
+        private static final int[] VALUES = new int[128];
+
+        static {
+            Arrays.fill(VALUES, -1);
+            String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+            for (int i = 0; i < alphabet.length(); i++) {
+                VALUES[alphabet.charAt(i)] = i;
+            }
+            VALUES['='] = PADDING;
+        }
+
+        private LegacyBase64() {
+        }
+
+        static byte[] decode(String text) {
+            byte[] out = new byte[text.length() / 4 * 3 + 3];
+            int length = 0;
+            int[] quadruplet = new int[4];
+            int q = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int value = c < 128 ? VALUES[c] : -1;
+                if (value != -1) {
+                    quadruplet[q++] = value;
+                }
+                if (q == 4) {
+                    out[length++] = (byte) (quadruplet[0] << 2 | quadruplet[1] >> 4);
+                    if (quadruplet[2] != PADDING) {
+                        out[length++] = (byte) (quadruplet[1] << 4 | quadruplet[2] >> 2);
+                    }
+                    if (quadruplet[3] != PADDING) {
+                        out[length++] = (byte) (quadruplet[2] << 6 | quadruplet[3]);
+                    }
+                    q = 0;
+                }
+            }
+            return Arrays.copyOf(out, length);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.local.bci.infrastructure.security;
+
+import java.util.UUID;
+
+/**
+ * Signs and verifies compact JWTs carrying the {@code sub}, {@code iat} and
+ * {@code exp} claims, and optionally a token id ({@code jti}) and user id ({@code uid}).
+ */
+public interface JwtCodec {
+
+    /**
+     * Encodes and signs a token.
+     *
+     * @param subject           the {@code sub} claim
+     * @param issuedAtSeconds   the {@code iat} claim, in epoch seconds
+     * @param expirationSeconds the {@code exp} claim, in epoch seconds
+     * @return the compact token
+     */
+    default String encode(String subject, long issuedAtSeconds, long expirationSeconds) {
+        return encode(subject, null, null, issuedAtSeconds, expirationSeconds);
+    }
+
+    /**
+     * Encodes and signs a token carrying a token id and a user id.
+     *
+     * @param subject           the {@code sub} claim
+     * @param tokenId           the {@code jti} claim, or null to leave it out
+     * @param userId            the {@code uid} claim, or null to leave it out
+     * @param issuedAtSeconds   the {@code iat} claim, in epoch seconds
+     * @param expirationSeconds the {@code exp} claim, in epoch seconds
+     * @return the compact token
+     */
+    String encode(String subject, UUID tokenId, UUID userId, long issuedAtSeconds, long expirationSeconds);
+
+    /**
+     * Verifies the signature and expiration of a token and reads its claims.
+     *
+     * @param token     the compact token
+     * @param nowMillis current time, in epoch milliseconds
+     * @return the claims, or null if the token is malformed, signed with another
+     *         algorithm or key, or expired
+     */
+    TokenClaims decode(String token, long nowMillis);
+}
@@ -0,0 +1,578 @@
+package com.local.bci.infrastructure.security;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Encoding primitives shared by the JWT codecs: unpadded base64url, the claims
+ * JSON written for {@code sub}, {@code iat}, {@code exp} and the optional
+ * {@code jti} and {@code uid}, and a minimal reader
+ * for the flat JSON objects found in headers and claims.
+ * <p>
+ * Everything works on caller-provided byte arrays so the codecs can reuse
+ * per-thread buffers.
+ * </p>
+ */
+final class JwtFormat {
+
+    private static final byte[] ENCODE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = (byte) i;
+        }
+    }
+
+    private static final byte[] SUB = "{\"sub\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IAT = "\",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP = ",\"exp\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JTI = ",\"jti\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UID = ",\"uid\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Returns a buffer size large enough for the claims of {@code subject}.
+     */
+    static int claimsCapacity(String subject) {
+        return SUB.length + subject.length() * 6 + IAT.length + EXP.length + 2 * 20
+                + JTI.length + UID.length + 2 * (UUID_LENGTH + 1) + 1;
+    }
+
+    /**
+     * Writes the claims JSON into {@code json}, which must hold {@link #claimsCapacity(String)} bytes.
+     * The {@code jti} and {@code uid} claims follow {@code exp} and are left out when null, so
+     * tokens without them keep the jjwt layout.
+     *
+     * @return the number of bytes written
+     */
+    static int writeClaims(String subject, UUID tokenId, UUID userId, long issuedAt, long expiration, byte[] json) {
+        int pos = put(SUB, json, 0);
+        pos = JsonReader.writeEscaped(subject, json, pos);
+        pos = put(IAT, json, pos);
+        pos = putLong(issuedAt, json, pos);
+        pos = put(EXP, json, pos);
+        pos = putLong(expiration, json, pos);
+        if (tokenId != null) {
+            pos = putUuid(JTI, tokenId, json, pos);
+        }
+        if (userId != null) {
+            pos = putUuid(UID, userId, json, pos);
+        }
+        json[pos++] = '}';
+        return pos;
+    }
+
+    private static int putUuid(byte[] name, UUID value, byte[] dst, int pos) {
+        pos = put(name, dst, pos);
+        String text = value.toString();
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            dst[pos++] = (byte) text.charAt(i);
+        }
+        dst[pos++] = '"';
+        return pos;
+    }
+
+    private static int put(byte[] src, byte[] dst, int pos) {
+        System.arraycopy(src, 0, dst, pos, src.length);
+        return pos + src.length;
+    }
+
+    private static int putLong(long value, byte[] dst, int pos) {
+        if (value == Long.MIN_VALUE) {
+            return put(Long.toString(value).getBytes(StandardCharsets.US_ASCII), dst, pos);
+        }
+        if (value < 0) {
+            dst[pos++] = '-';
+            value = -value;
+        }
+        int start = pos;
+        do {
+            dst[pos++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte tmp = dst[i];
+            dst[i] = dst[j];
+            dst[j] = tmp;
+        }
+        return pos;
+    }
+
+    static int base64UrlLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    static byte[] base64Url(byte[] src) {
+        byte[] out = new byte[base64UrlLength(src.length)];
+        base64Url(src, src.length, out, 0);
+        return out;
+    }
+
+    static int base64Url(byte[] src, int length, byte[] dst, int pos) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[pos++] = ENCODE[bits >>> 18];
+            dst[pos++] = ENCODE[bits >>> 12 & 0x3f];
+            dst[pos++] = ENCODE[bits >>> 6 & 0x3f];
+            dst[pos++] = ENCODE[bits & 0x3f];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[pos++] = ENCODE[bits >>> 18];
+            dst[pos++] = ENCODE[bits >>> 12 & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[pos++] = ENCODE[bits >>> 18];
+            dst[pos++] = ENCODE[bits >>> 12 & 0x3f];
+            dst[pos++] = ENCODE[bits >>> 6 & 0x3f];
+        }
+        return pos;
+    }
+
+    /**
+     * Decodes unpadded base64url from {@code src[from, to)} into {@code dst}.
+     *
+     * @return the number of bytes written, or -1 if the input is not base64url or does not fit
+     */
+    static int decodeBase64Url(byte[] src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1 || length / 4 * 3 + Math.max(0, length % 4 - 1) > dst.length) {
+            return -1;
+        }
+        int pos = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            byte c = src[i];
+            int value = c < 0 ? -1 : DECODE[c];
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                dst[pos++] = (byte) (bits >>> 16);
+                dst[pos++] = (byte) (bits >>> 8);
+                dst[pos++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            dst[pos++] = (byte) (bits >>> 4);
+        } else if (count == 3) {
+            dst[pos++] = (byte) (bits >>> 10);
+            dst[pos++] = (byte) (bits >>> 2);
+        }
+        return pos;
+    }
+
+    /**
+     * Copies an ASCII token into {@code dst}.
+     *
+     * @return false if the token contains a non-ASCII character
+     */
+    static boolean toAscii(String token, byte[] dst) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c > 127) {
+                return false;
+            }
+            dst[i] = (byte) c;
+        }
+        return true;
+    }
+
+    /**
+     * Converts decoded claims into {@link TokenClaims}, applying the expiration check.
+     *
+     * @return the claims, or null if the token expired before {@code nowMillis}
+     */
+    static TokenClaims toTokenClaims(JsonReader claims, long nowMillis) {
+        if (claims.expiration != Long.MIN_VALUE && nowMillis > claims.expiration * 1000) {
+            return null;
+        }
+        return new TokenClaims(claims.subject,
+                claims.issuedAt == Long.MIN_VALUE ? null : Instant.ofEpochSecond(claims.issuedAt),
+                claims.expiration == Long.MIN_VALUE ? null : Instant.ofEpochSecond(claims.expiration),
+                toUuid(claims.tokenId), toUuid(claims.userId));
+    }
+
+    /**
+     * Parses a UUID claim, ignoring values that are not UUIDs.
+     */
+    private static UUID toUuid(String value) {
+        if (value == null || value.length() != UUID_LENGTH) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Minimal reader and writer for the flat JSON objects of the header and claims.
+     * Header members other than {@code alg} and {@code kid}, and claims other than
+     * {@code sub}, {@code iat}, {@code exp}, {@code jti} and {@code uid}, are skipped.
+     */
+    static final class JsonReader {
+
+        private final byte[] json;
+        private final int end;
+        private int pos;
+
+        private String subject;
+        private long issuedAt = Long.MIN_VALUE;
+        private long expiration = Long.MIN_VALUE;
+        private String tokenId;
+        private String userId;
+        private String algorithm;
+        private String keyId;
+        private boolean unsupportedHeader;
+
+        private JsonReader(byte[] json, int end) {
+            this.json = json;
+            this.end = end;
+        }
+
+        /**
+         * Reads a JOSE header.
+         *
+         * @return the reader, or null if the header is malformed or needs a feature
+         *         (compression, critical extensions) this codec does not support
+         */
+        static JsonReader readHeader(byte[] json, int length) {
+            JsonReader reader = new JsonReader(json, length);
+            return reader.readObject(true) && !reader.unsupportedHeader ? reader : null;
+        }
+
+        String algorithm() {
+            return algorithm;
+        }
+
+        String keyId() {
+            return keyId;
+        }
+
+        static JsonReader readClaims(byte[] json, int length) {
+            JsonReader reader = new JsonReader(json, length);
+            return reader.readObject(false) ? reader : null;
+        }
+
+        static int writeEscaped(String value, byte[] dst, int pos) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    dst[pos++] = '\\';
+                    dst[pos++] = (byte) c;
+                } else if (c < 0x20) {
+                    pos = writeControl(c, dst, pos);
+                } else if (c < 0x80) {
+                    dst[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    dst[pos++] = (byte) (0xc0 | c >> 6);
+                    dst[pos++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    dst[pos++] = (byte) (0xf0 | cp >> 18);
+                    dst[pos++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                    dst[pos++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                    dst[pos++] = (byte) (0x80 | cp & 0x3f);
+                } else {
+                    dst[pos++] = (byte) (0xe0 | c >> 12);
+                    dst[pos++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    dst[pos++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            return pos;
+        }
+
+        private static int writeControl(char c, byte[] dst, int pos) {
+            dst[pos++] = '\\';
+            switch (c) {
+                case '\b':
+                    dst[pos++] = 'b';
+                    break;
+                case '\t':
+                    dst[pos++] = 't';
+                    break;
+                case '\n':
+                    dst[pos++] = 'n';
+                    break;
+                case '\f':
+                    dst[pos++] = 'f';
+                    break;
+                case '\r':
+                    dst[pos++] = 'r';
+                    break;
+                default:
+                    dst[pos++] = 'u';
+                    dst[pos++] = '0';
+                    dst[pos++] = '0';
+                    dst[pos++] = (byte) Character.forDigit(c >> 4, 16);
+                    dst[pos++] = (byte) Character.forDigit(c & 0xf, 16);
+            }
+            return pos;
+        }
+
+        private boolean readObject(boolean header) {
+            skipWhitespace();
+            if (!consume('{')) {
+                return false;
+            }
+            skipWhitespace();
+            if (consume('}')) {
+                return atEnd();
+            }
+            do {
+                skipWhitespace();
+                int nameStart = pos + 1;
+                if (!skipString()) {
+                    return false;
+                }
+                int nameLength = pos - 1 - nameStart;
+                skipWhitespace();
+                if (!consume(':')) {
+                    return false;
+                }
+                skipWhitespace();
+                if (!readMember(header, nameStart, nameLength)) {
+                    return false;
+                }
+                skipWhitespace();
+            } while (consume(','));
+            return consume('}') && atEnd();
+        }
+
+        private boolean readMember(boolean header, int nameStart, int nameLength) {
+            if (header) {
+                if (is("alg", nameStart, nameLength)) {
+                    algorithm = readString();
+                    return algorithm != null;
+                }
+                if (is("kid", nameStart, nameLength)) {
+                    keyId = readString();
+                    return keyId != null;
+                }
+                if (is("zip", nameStart, nameLength) || is("crit", nameStart, nameLength)) {
+                    unsupportedHeader = true;
+                }
+                return skipValue();
+            }
+            if (is("sub", nameStart, nameLength)) {
+                subject = readString();
+                return subject != null;
+            }
+            if (is("iat", nameStart, nameLength)) {
+                issuedAt = readLong();
+                return issuedAt != Long.MIN_VALUE;
+            }
+            if (is("exp", nameStart, nameLength)) {
+                expiration = readLong();
+                return expiration != Long.MIN_VALUE;
+            }
+            if (is("jti", nameStart, nameLength) && pos < end && json[pos] == '"') {
+                tokenId = readString();
+                return tokenId != null;
+            }
+            if (is("uid", nameStart, nameLength) && pos < end && json[pos] == '"') {
+                userId = readString();
+                return userId != null;
+            }
+            return skipValue();
+        }
+
+        private boolean is(String name, int start, int length) {
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (json[start + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String readString() {
+            if (pos >= end || json[pos] != '"') {
+                return null;
+            }
+            int start = ++pos;
+            while (pos < end && json[pos] != '"' && json[pos] != '\\') {
+                pos++;
+            }
+            if (pos < end && json[pos] == '"') {
+                return new String(json, start, pos++ - start, StandardCharsets.UTF_8);
+            }
+            pos = start - 1;
+            return readEscapedString();
+        }
+
+        private String readEscapedString() {
+            int start = ++pos;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            while (pos < end) {
+                byte b = json[pos++];
+                if (b == '"') {
+                    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+                }
+                if (b != '\\') {
+                    bytes.write(b);
+                    continue;
+                }
+                if (pos >= end) {
+                    return null;
+                }
+                byte e = json[pos++];
+                switch (e) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        bytes.write(e);
+                        break;
+                    case 'b':
+                        bytes.write('\b');
+                        break;
+                    case 'f':
+                        bytes.write('\f');
+                        break;
+                    case 'n':
+                        bytes.write('\n');
+                        break;
+                    case 'r':
+                        bytes.write('\r');
+                        break;
+                    case 't':
+                        bytes.write('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > end) {
+                            return null;
+                        }
+                        int c = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(json[pos++], 16);
+                            if (digit < 0) {
+                                return null;
+                            }
+                            c = c << 4 | digit;
+                        }
+                        byte[] utf8 = String.valueOf((char) c).getBytes(StandardCharsets.UTF_8);
+                        bytes.write(utf8, 0, utf8.length);
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            pos = start;
+            return null;
+        }
+
+        private long readLong() {
+            int start = pos;
+            boolean negative = consume('-');
+            long value = 0;
+            int digits = 0;
+            while (pos < end && json[pos] >= '0' && json[pos] <= '9') {
+                if (value > (Long.MAX_VALUE - 9) / 10) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + (json[pos++] - '0');
+                digits++;
+            }
+            if (digits == 0 || (pos < end && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E'))) {
+                pos = start;
+                return Long.MIN_VALUE;
+            }
+            return negative ? -value : value;
+        }
+
+        private boolean skipValue() {
+            if (pos >= end) {
+                return false;
+            }
+            byte b = json[pos];
+            if (b == '"') {
+                return skipString();
+            }
+            if (b == '{' || b == '[') {
+                return skipNested();
+            }
+            int start = pos;
+            while (pos < end && json[pos] != ',' && json[pos] != '}' && json[pos] != ']'
+                    && json[pos] != ' ' && json[pos] != '\t' && json[pos] != '\n' && json[pos] != '\r') {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private boolean skipNested() {
+            int depth = 0;
+            while (pos < end) {
+                byte b = json[pos];
+                if (b == '"') {
+                    if (!skipString()) {
+                        return false;
+                    }
+                    continue;
+                }
+                pos++;
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean skipString() {
+            if (pos >= end || json[pos] != '"') {
+                return false;
+            }
+            pos++;
+            while (pos < end) {
+                byte b = json[pos++];
+                if (b == '\\') {
+                    pos++;
+                } else if (b == '"') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+                pos++;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (pos < end && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return pos == end;
+        }
+    }
+
+    private JwtFormat() {
+    }
+}
@@ -1,28 +1,71 @@
 package com.local.bci.infrastructure.security;
 
-import io.jsonwebtoken.*;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-import java.util.Date;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service responsible for generating, validating, and parsing JWT tokens.
  * <p>
  * Uses a secret key and expiration configuration to create signed tokens,
  * extract the subject (typically the user's email), and validate token integrity.
+ * Tokens are signed either with a shared secret ({@link Hs256JwtCodec}, the format
+ * of the tokens previously issued with jjwt) or with the active key of an ES256 key
+ * ring ({@link Es256JwtCodec}), whose public keys other services can fetch to verify
+ * tokens themselves. While switching from HS256 to ES256, HS256 tokens that are still
+ * live can keep being accepted.
+ * </p>
+ * <p>
+ * With a {@link TokenDenylist}, tokens issued for a known user also carry a random
+ * token id ({@code jti}) and the user id ({@code uid}); tokens revoked through
+ * {@link #revoke(TokenClaims)} then fail verification until they expire.
  * </p>
  */
-@Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
+    private static final String HS256_PREFIX = Hs256JwtCodec.HEADER_SEGMENT + ".";
+
+    private final JwtCodec signer;
 
-    @Value("${app.jwt.expiration-ms}")
-    private long expirationMs;
+    private final Hs256JwtCodec hs256;
+
+    private final Es256JwtCodec es256;
+
+    private final TokenDenylist denylist;
+
+    private final long expirationMs;
+
+    /**
+     * Creates an HS256 service with the given signing secret and token lifetime.
+     *
+     * @param secret       secret used to sign and verify tokens
+     * @param expirationMs token lifetime in milliseconds
+     */
+    public JwtService(String secret, long expirationMs) {
+        this(new Hs256JwtCodec(secret), null, null, expirationMs);
+    }
+
+    /**
+     * Creates a service signing with ES256 when a key ring is given, and with HS256 otherwise.
+     *
+     * @param hs256        codec for HS256 tokens, or {@code null} to reject them; required without {@code es256}
+     * @param es256        codec signing and verifying ES256 tokens, or {@code null} for HS256 only
+     * @param denylist     revoked token ids, or {@code null} to issue tokens without ids
+     * @param expirationMs token lifetime in milliseconds
+     * @throws IllegalArgumentException if both codecs are {@code null}
+     */
+    public JwtService(Hs256JwtCodec hs256, Es256JwtCodec es256, TokenDenylist denylist, long expirationMs) {
+        if (hs256 == null && es256 == null) {
+            throw new IllegalArgumentException("At least one token codec is required");
+        }
+        this.signer = es256 != null ? es256 : hs256;
+        this.hs256 = hs256;
+        this.es256 = es256;
+        this.denylist = denylist;
+        this.expirationMs = expirationMs;
+    }
 
     /**
      * Generates a JWT token for a given subject.
@@ -31,14 +74,72 @@ public class JwtService {
      * @return a signed JWT token string
      */
     public String generateToken(String subject) {
-        Date now = new Date();
-        Date exp = new Date(now.getTime() + expirationMs);
-        return Jwts.builder()
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(exp)
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
+        long now = System.currentTimeMillis();
+        return signer.encode(subject, now / 1000, (now + expirationMs) / 1000);
+    }
+
+    /**
+     * Generates a JWT token for a given user, with a token id and the user id when
+     * token ids are tracked.
+     *
+     * @param subject the subject to include in the token (usually user email)
+     * @param userId  the id of the user the token is issued to
+     * @return a signed JWT token string
+     */
+    public String generateToken(String subject, UUID userId) {
+        if (denylist == null) {
+            return generateToken(subject);
+        }
+        long now = System.currentTimeMillis();
+        return signer.encode(subject, UUID.randomUUID(), userId, now / 1000, (now + expirationMs) / 1000);
+    }
+
+    /**
+     * Tells whether tokens carry a token id that can be revoked.
+     *
+     * @return true if a denylist is configured
+     */
+    public boolean tracksTokenIds() {
+        return denylist != null;
+    }
+
+    /**
+     * Revokes a verified token until it expires.
+     *
+     * @param claims the claims of the token
+     * @return false if the token was already revoked, true otherwise (including when
+     *         the token has no id or no denylist is configured)
+     */
+    public boolean revoke(TokenClaims claims) {
+        if (denylist == null || claims.getTokenId() == null) {
+            return true;
+        }
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getEpochSecond();
+        return denylist.revoke(claims.getTokenId(), expiresAt);
+    }
+
+    /**
+     * Verifies a JWT token and extracts its claims in a single parse.
+     *
+     * @param token the JWT token
+     * @return the verified {@link TokenClaims}, or empty if the token is invalid, expired or revoked
+     */
+    public Optional<TokenClaims> verify(String token) {
+        TokenClaims claims = codecFor(token).decode(token, System.currentTimeMillis());
+        if (claims != null && denylist != null && claims.getTokenId() != null
+                && denylist.isRevoked(claims.getTokenId())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(claims);
+    }
+
+    /**
+     * Returns the public keys that verify the tokens issued by this service, as JWKs.
+     *
+     * @return the ES256 key ring, or an empty list when tokens are signed with HS256
+     */
+    public List<Map<String, String>> publicJwks() {
+        return es256 == null ? Collections.emptyList() : es256.publicJwks();
     }
 
     /**
@@ -48,14 +149,9 @@ public class JwtService {
      * @return the subject (email) if token is valid; otherwise null
      */
     public String getSubject(String token) {
-        try {
-            return Jwts.parser().setSigningKey(secret)
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (JwtException e) {
-            return null;
-        }
+        return verify(token)
+                .map(TokenClaims::getSubject)
+                .orElse(null);
     }
 
     /**
@@ -65,11 +161,20 @@ public class JwtService {
      * @return true if the token is valid; false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+        return verify(token).isPresent();
+    }
+
+    /**
+     * Picks the codec by header: every HS256 token issued by this service starts
+     * with the same header segment, anything else is an ES256 candidate.
+     */
+    private JwtCodec codecFor(String token) {
+        if (es256 == null) {
+            return hs256;
+        }
+        if (hs256 != null && token != null && token.startsWith(HS256_PREFIX)) {
+            return hs256;
         }
+        return es256;
     }
 }
@@ -0,0 +1,211 @@
+package com.local.bci.infrastructure.security;
+
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
+import com.local.bci.infrastructure.exception.PasswordHashingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, bounded thread pool.
+ * <p>
+ * BCrypt is CPU bound, so hashing on request threads lets a burst of sign-ups
+ * occupy every servlet worker. This executor caps hashing concurrency to the
+ * number of cores and holds at most {@code queueCapacity} waiting requests;
+ * beyond that it fails fast with {@link HashingCapacityExceededException}
+ * instead of queueing indefinitely.
+ * </p>
+ * <p>
+ * Publishes {@code password.hash.queue.depth}, {@code password.hash.wait},
+ * {@code password.hash.duration} and {@code password.hash.rejected} metrics.
+ * </p>
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    /**
+     * Creates the executor.
+     *
+     * @param passwordEncoder   encoder performing the actual hashing
+     * @param meterRegistry     registry where queue and timing metrics are published
+     * @param threads           number of hashing threads, or 0 to use the number of cores
+     * @param queueCapacity     maximum number of hash requests waiting for a thread
+     * @param retryAfterSeconds delay suggested to clients when the queue is full
+     */
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.security.hashing.threads:0}") int threads,
+                                   @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("Time a password hash request waits in the queue")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hash.duration")
+                .description("Time spent hashing a password")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Password hash requests rejected because the queue was full")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool and waits for the result.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     * @throws HashingCapacityExceededException if the hashing queue is full
+     * @throws PasswordHashingException         if hashing fails or the caller is interrupted
+     */
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool without waiting for the result,
+     * for callers that must not block, such as the reactive handlers.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password, completed on a hashing thread; a failed hash
+     *         completes it with {@link PasswordHashingException}
+     * @throws HashingCapacityExceededException if the hashing queue is full
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        Callable<String> hashing = timed(() -> passwordEncoder.encode(rawPassword));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return hashing.call();
+                } catch (Exception e) {
+                    throw new PasswordHashingException("Failed to hash password", e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw rejectedException(e);
+        }
+    }
+
+    /**
+     * Hashes several raw passwords in parallel on the hashing pool.
+     * <p>
+     * Hashes are submitted as long as the queue accepts them; when it is full the
+     * caller waits for its own oldest hash to finish before submitting the next one,
+     * so a large batch never fails on capacity while it has work in flight.
+     * </p>
+     *
+     * @param rawPasswords the passwords to hash
+     * @return the encoded passwords, in the same order
+     * @throws HashingCapacityExceededException if the queue is full and none of the hashes is in flight
+     * @throws PasswordHashingException         if hashing fails or the caller is interrupted
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        int awaited = 0;
+        for (CharSequence rawPassword : rawPasswords) {
+            Future<String> future = trySubmit(() -> passwordEncoder.encode(rawPassword));
+            while (future == null) {
+                if (awaited == futures.size()) {
+                    throw rejectedException(null);
+                }
+                await(futures.get(awaited++));
+                future = trySubmit(() -> passwordEncoder.encode(rawPassword));
+            }
+            futures.add(future);
+        }
+
+        List<String> encoded = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            encoded.add(await(future));
+        }
+        return encoded;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new PasswordHashingException("Failed to hash password", e.getCause());
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> hashing) {
+        try {
+            return executor.submit(timed(hashing));
+        } catch (RejectedExecutionException e) {
+            throw rejectedException(e);
+        }
+    }
+
+    private <T> Future<T> trySubmit(Callable<T> hashing) {
+        try {
+            return executor.submit(timed(hashing));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private <T> Callable<T> timed(Callable<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+            T result = hashing.call();
+            hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return result;
+        };
+    }
+
+    private HashingCapacityExceededException rejectedException(RejectedExecutionException cause) {
+        rejected.increment();
+        return new HashingCapacityExceededException("Service busy, try again later", retryAfterSeconds, cause);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
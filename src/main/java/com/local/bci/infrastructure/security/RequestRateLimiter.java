@@ -0,0 +1,63 @@
+package com.local.bci.infrastructure.security;
+
+import com.local.bci.infrastructure.exception.RateLimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client and per-email rate limits of the user endpoints.
+ * <p>
+ * The client check runs first, before the request body or token is looked at; the
+ * email check runs on sign-ups once the body is read. Either one throws
+ * {@link RateLimitExceededException} with the whole seconds to wait before retrying.
+ * </p>
+ */
+public class RequestRateLimiter implements AutoCloseable {
+
+    private final TokenBucketRateLimiter byClient;
+    private final TokenBucketRateLimiter byEmail;
+
+    public RequestRateLimiter(TokenBucketRateLimiter byClient, TokenBucketRateLimiter byEmail) {
+        this.byClient = byClient;
+        this.byEmail = byEmail;
+    }
+
+    /**
+     * Takes a token from the bucket of a client address.
+     *
+     * @param address the remote address of the request
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void checkClient(String address) {
+        check(byClient, address);
+    }
+
+    /**
+     * Takes a token from the bucket of an email. A missing email is left to validation.
+     *
+     * @param email the email of the request
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void checkEmail(String email) {
+        if (email != null) {
+            check(byEmail, email);
+        }
+    }
+
+    /**
+     * Stops the sweepers of both limiters.
+     */
+    @Override
+    public void close() {
+        byClient.close();
+        byEmail.close();
+    }
+
+    private static void check(TokenBucketRateLimiter limiter, String key) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new RateLimitExceededException("Too many requests", retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.local.bci.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets: each key may spend up to {@code burst} requests at once,
+ * refilled at {@code ratePerSecond}.
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the time, on the
+ * {@link System#nanoTime()} scale, at which it will be full again (the generic cell
+ * rate algorithm, equivalent to a token bucket). Taking a token pushes that time
+ * one refill interval forward with a compare-and-set, and is refused when it would
+ * land more than {@code burst} intervals ahead of now; no lock is taken on the
+ * request path.
+ * </p>
+ * <p>
+ * Buckets live in {@value #STRIPES} {@link ConcurrentHashMap} stripes, each bounded
+ * to its share of the capacity. A background timer evicts the buckets that are full
+ * again, since a full bucket is the same as no bucket. When a stripe is at capacity a
+ * new key is let through without a bucket and counted as an overflow, so a flood of
+ * distinct keys can never lock out every client. Buckets, capacity, rejections and
+ * overflows are published as {@code ratelimit.*} metrics tagged with the limiter name.
+ * </p>
+ */
+@Slf4j
+public class TokenBucketRateLimiter implements AutoCloseable {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final String name;
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Counter rejections;
+    private final Counter overflows;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates the limiter and starts its sweeper.
+     *
+     * @param name          limiter name, used as the {@code limiter} metric tag
+     * @param burst         requests a key may make at once
+     * @param ratePerSecond sustained requests per second allowed per key
+     * @param capacity      maximum number of keys tracked at once
+     * @param sweepInterval delay between two evictions of idle buckets
+     * @param meterRegistry registry where size, capacity, rejections and overflows are published
+     */
+    public TokenBucketRateLimiter(String name, int burst, double ratePerSecond, int capacity,
+                                  Duration sweepInterval, MeterRegistry meterRegistry) {
+        this(name, burst, ratePerSecond, capacity, sweepInterval, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Creates the limiter on the given clock, in nanoseconds.
+     */
+    public TokenBucketRateLimiter(String name, int burst, double ratePerSecond, int capacity,
+                                  Duration sweepInterval, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (burst < 1 || !(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Rate limiter " + name + " needs a burst >= 1 and a positive rate");
+        }
+        int perStripe = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.name = name;
+        this.capacity = perStripe * STRIPES;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.rejections = Counter.builder("ratelimit.rejected")
+                .description("Requests refused because the bucket of their key was empty")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.overflows = Counter.builder("ratelimit.overflow")
+                .description("Requests let through untracked because the limiter was full")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", this, TokenBucketRateLimiter::size)
+                .description("Keys currently tracked")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.capacity", this, TokenBucketRateLimiter::capacity)
+                .description("Maximum number of keys tracked")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ratelimit-" + name + "-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = sweepInterval.toMillis();
+        this.sweeper.scheduleWithFixedDelay(this::sweepQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param key the client key, e.g. an address or an email
+     * @return zero if the request may proceed, otherwise the nanoseconds until the
+     *         bucket holds a token again
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+        if (bucket == null) {
+            overflows.increment();
+            return 0;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                rejections.increment();
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again at {@code nowNanos}.
+     *
+     * @param nowNanos current time, on the clock of the limiter
+     * @return the number of buckets removed
+     */
+    public int sweep(long nowNanos) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            removed += stripe.sweep(nowNanos);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of keys tracked.
+     *
+     * @return the current size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size.get();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of keys tracked at once.
+     *
+     * @return the capacity, rounded up to a multiple of the stripe count
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        Stripe stripe = stripes[(hash ^ hash >>> 16) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        return bucket != null ? bucket : stripe.add(key, now);
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep(nanoClock.getAsLong());
+            if (removed > 0) {
+                log.debug("Evicted {} idle buckets from rate limiter {}", removed, name);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rate limiter {} sweep failed", name, e);
+        }
+    }
+
+    /**
+     * One stripe: a map bounded by a slot counter reserved before each insert. A
+     * request racing with the eviction of its bucket may spend a token on the evicted
+     * copy, which at most grants that key one extra request.
+     */
+    private static final class Stripe {
+
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final int limit;
+
+        private Stripe(int limit) {
+            this.limit = limit;
+        }
+
+        AtomicLong add(String key, long now) {
+            if (size.incrementAndGet() > limit) {
+                size.decrementAndGet();
+                return buckets.get(key);
+            }
+            AtomicLong bucket = new AtomicLong(now);
+            AtomicLong existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null) {
+                size.decrementAndGet();
+                return existing;
+            }
+            return bucket;
+        }
+
+        int sweep(long nowNanos) {
+            int removed = 0;
+            for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                if (entry.getValue().get() - nowNanos <= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                    size.decrementAndGet();
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+}
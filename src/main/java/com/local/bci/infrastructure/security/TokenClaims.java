@@ -0,0 +1,76 @@
+package com.local.bci.infrastructure.security;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable view of the claims carried by a verified JWT token.
+ * <p>
+ * Instances are only produced by {@link JwtService#verify(String)} once the
+ * signature and expiration have been checked, so callers can read the subject
+ * and timestamps without parsing the token again. The token id ({@code jti}) and
+ * user id ({@code uid}) are only present on tokens issued with token ids enabled.
+ * </p>
+ */
+public final class TokenClaims {
+
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiration;
+    private final UUID tokenId;
+    private final UUID userId;
+
+    public TokenClaims(String subject, Instant issuedAt, Instant expiration) {
+        this(subject, issuedAt, expiration, null, null);
+    }
+
+    public TokenClaims(String subject, Instant issuedAt, Instant expiration, UUID tokenId, UUID userId) {
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.tokenId = tokenId;
+        this.userId = userId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenClaims)) {
+            return false;
+        }
+        TokenClaims that = (TokenClaims) o;
+        return Objects.equals(subject, that.subject)
+                && Objects.equals(issuedAt, that.issuedAt)
+                && Objects.equals(expiration, that.expiration)
+                && Objects.equals(tokenId, that.tokenId)
+                && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, issuedAt, expiration, tokenId, userId);
+    }
+}
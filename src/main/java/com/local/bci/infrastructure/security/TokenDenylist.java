@@ -0,0 +1,282 @@
+package com.local.bci.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory set of revoked token ids ({@code jti}), each kept until the
+ * expiration of its token.
+ * <p>
+ * Entries are stored in fixed-size open-addressing tables of primitive longs
+ * (id high bits, id low bits, expiration), split into lock stripes. Tables are
+ * allocated up front at a load factor of one half, about 48 bytes per id of
+ * capacity, so the footprint is fixed by the capacity given at construction.
+ * A background timer drops the entries whose token has expired, since an expired
+ * token is rejected on its own.
+ * </p>
+ * <p>
+ * When a stripe is full the revocation is not recorded and counted as an overflow:
+ * callers must keep a second line of defence (the login compare-and-set on the
+ * stored token) rather than rely on the set alone. Size, capacity and overflows are
+ * published as {@code jwt.denylist.*} metrics.
+ * </p>
+ */
+@Slf4j
+public class TokenDenylist implements AutoCloseable {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int capacity;
+    private final Counter overflows;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates the set and starts its sweeper.
+     *
+     * @param capacity      maximum number of revoked ids held at once
+     * @param sweepInterval delay between two sweeps of expired entries
+     * @param meterRegistry registry where size, capacity and overflows are published
+     */
+    public TokenDenylist(int capacity, Duration sweepInterval, MeterRegistry meterRegistry) {
+        int perStripe = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.capacity = perStripe * STRIPES;
+        this.overflows = Counter.builder("jwt.denylist.overflow")
+                .description("Revocations dropped because the denylist was full")
+                .register(meterRegistry);
+        Gauge.builder("jwt.denylist.size", this, TokenDenylist::size)
+                .description("Revoked token ids currently held")
+                .register(meterRegistry);
+        Gauge.builder("jwt.denylist.capacity", this, TokenDenylist::capacity)
+                .description("Maximum number of revoked token ids held")
+                .register(meterRegistry);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-denylist-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = sweepInterval.toMillis();
+        this.sweeper.scheduleWithFixedDelay(this::sweepQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Revokes a token id until the given expiration.
+     *
+     * @param tokenId           the {@code jti} of the token
+     * @param expiresAtSeconds  the {@code exp} of the token, in epoch seconds
+     * @return false if the id was already revoked, true otherwise (including when
+     *         the set is full and the revocation was dropped)
+     */
+    public boolean revoke(UUID tokenId, long expiresAtSeconds) {
+        long msb = tokenId.getMostSignificantBits();
+        long lsb = tokenId.getLeastSignificantBits();
+        int hash = hash(msb, lsb);
+        int added = stripes[hash & (STRIPES - 1)].add(msb, lsb, Math.max(1, expiresAtSeconds), hash >>> 6);
+        if (added == Stripe.FULL) {
+            overflows.increment();
+            log.debug("Token denylist full, revocation of {} not recorded", tokenId);
+        }
+        return added != Stripe.PRESENT;
+    }
+
+    /**
+     * Tells whether a token id was revoked.
+     *
+     * @param tokenId the {@code jti} of the token
+     * @return true if the id is in the set
+     */
+    public boolean isRevoked(UUID tokenId) {
+        long msb = tokenId.getMostSignificantBits();
+        long lsb = tokenId.getLeastSignificantBits();
+        int hash = hash(msb, lsb);
+        return stripes[hash & (STRIPES - 1)].contains(msb, lsb, hash >>> 6);
+    }
+
+    /**
+     * Removes the ids whose token expired before {@code nowSeconds}.
+     *
+     * @param nowSeconds current time, in epoch seconds
+     * @return the number of ids removed
+     */
+    public int sweep(long nowSeconds) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            removed += stripe.sweep(nowSeconds);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of revoked ids held.
+     *
+     * @return the current size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of revoked ids held at once.
+     *
+     * @return the capacity, rounded up to a multiple of the stripe count
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep(System.currentTimeMillis() / 1000);
+            if (removed > 0) {
+                log.debug("Swept {} expired token ids from the denylist", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token denylist sweep failed", e);
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * One lock stripe: a linear-probing table sized for its share of the capacity
+     * at a load factor of at most one half. An expiration of zero marks a free slot.
+     * Guarded by a {@link ReentrantLock} rather than a monitor, so a virtual thread
+     * waiting for a stripe does not pin its carrier thread.
+     */
+    private static final class Stripe {
+
+        static final int ADDED = 0;
+        static final int PRESENT = 1;
+        static final int FULL = 2;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int limit;
+        private final int mask;
+        private long[] msbs;
+        private long[] lsbs;
+        private long[] expirations;
+        private int size;
+
+        private Stripe(int limit) {
+            this.limit = limit;
+            int slots = Integer.highestOneBit(Math.max(2, limit * 2 - 1)) << 1;
+            this.mask = slots - 1;
+            this.msbs = new long[slots];
+            this.lsbs = new long[slots];
+            this.expirations = new long[slots];
+        }
+
+        int add(long msb, long lsb, long expiration, int hash) {
+            lock.lock();
+            try {
+                return insert(msb, lsb, expiration, hash);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean contains(long msb, long lsb, int hash) {
+            lock.lock();
+            try {
+                int slot = hash & mask;
+                while (expirations[slot] != 0) {
+                    if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                        return true;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Rebuilds the table without the expired entries, which keeps probe chains
+         * intact without tombstones.
+         */
+        int sweep(long nowSeconds) {
+            lock.lock();
+            try {
+                int expired = 0;
+                for (long expiration : expirations) {
+                    if (expiration != 0 && expiration < nowSeconds) {
+                        expired++;
+                    }
+                }
+                if (expired == 0) {
+                    return 0;
+                }
+                long[] oldMsbs = msbs;
+                long[] oldLsbs = lsbs;
+                long[] oldExpirations = expirations;
+                msbs = new long[oldMsbs.length];
+                lsbs = new long[oldLsbs.length];
+                expirations = new long[oldExpirations.length];
+                size = 0;
+                for (int i = 0; i < oldExpirations.length; i++) {
+                    if (oldExpirations[i] != 0 && oldExpirations[i] >= nowSeconds) {
+                        insert(oldMsbs[i], oldLsbs[i], oldExpirations[i], hash(oldMsbs[i], oldLsbs[i]) >>> 6);
+                    }
+                }
+                return expired;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int insert(long msb, long lsb, long expiration, int hash) {
+            int slot = hash & mask;
+            while (expirations[slot] != 0) {
+                if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                    return PRESENT;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == limit) {
+                return FULL;
+            }
+            msbs[slot] = msb;
+            lsbs[slot] = lsb;
+            expirations[slot] = expiration;
+            size++;
+            return ADDED;
+        }
+    }
+}
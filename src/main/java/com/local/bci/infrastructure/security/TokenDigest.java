@@ -0,0 +1,61 @@
+package com.local.bci.infrastructure.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the fixed-width digest used to index stored JWT tokens.
+ * <p>
+ * Tokens are looked up by the hex-encoded SHA-256 of their value, so the
+ * database compares a 64 character indexed key instead of the whole token.
+ * </p>
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TokenDigest() {
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of a token.
+     *
+     * @param token the raw token, may be null
+     * @return the 64 character digest, or null if the token is null
+     */
+    public static String of(String token) {
+        if (token == null) {
+            return null;
+        }
+        byte[] hash = sha256().digest(token.getBytes(StandardCharsets.UTF_8));
+        char[] out = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            out[i * 2] = HEX[(hash[i] >> 4) & 0x0F];
+            out[i * 2 + 1] = HEX[hash[i] & 0x0F];
+        }
+        return new String(out);
+    }
+
+    /**
+     * Returns the first 64 bits of the SHA-256 digest of a token, used as the
+     * hash key of in-memory token indexes.
+     *
+     * @param token the raw token
+     * @return the leading eight digest bytes as a big-endian long
+     */
+    public static long prefix(String token) {
+        return ByteBuffer.wrap(sha256().digest(token.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.local.bci.router;
+
+import com.local.bci.infrastructure.security.JwtService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the public keys that verify the tokens issued by this service.
+ * <p>
+ * Other services fetch the JWK set once, cache it, and verify ES256 tokens locally,
+ * selecting the key by the token's {@code kid}. The set is empty when tokens are
+ * signed with HS256, since the shared secret cannot be published.
+ * </p>
+ */
+@RestController
+public class JwksController {
+
+    private final JwtService jwtService;
+
+    public JwksController(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Returns the JWK set of the token signing keys.
+     *
+     * @return {@link ResponseEntity} with a {@code {"keys": [...]}} body and HTTP status 200 OK
+     */
+    @GetMapping(path = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<Map<String, String>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Collections.singletonMap("keys", jwtService.publicJwks()));
+    }
+}
@@ -1,56 +1,138 @@
 package com.local.bci.router;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.local.bci.application.dto.BatchSignUpResultDTO;
 import com.local.bci.application.dto.SignUpRequestDTO;
 import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.usecase.BatchSignUpUseCase;
 import com.local.bci.application.usecase.LoginUseCase;
 import com.local.bci.application.usecase.SingUpUseCase;
+import com.local.bci.infrastructure.config.JsonConfig;
+import com.local.bci.infrastructure.security.RequestRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.validation.Valid;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * REST controller for user operations: sign-up and login.
+ * REST controller for user operations: sign-up, batch sign-up and login.
  * <p>
  * Exposes endpoints to register a new user and authenticate an existing user.
- * Accepts and returns JSON payloads.
+ * Accepts JSON payloads and returns JSON, or Smile when the client asks for
+ * {@value JsonConfig#APPLICATION_SMILE_VALUE} in {@code Accept}.
+ * </p>
+ * <p>
+ * With {@code app.rate-limit.enabled} every request first takes a token from the
+ * bucket of its remote address, and a sign-up from the bucket of its email, before
+ * any token parsing, lookup or hashing; an empty bucket answers 429.
  * </p>
  */
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+@Profile("!reactive")
+@RequestMapping(produces = {MediaType.APPLICATION_JSON_VALUE, JsonConfig.APPLICATION_SMILE_VALUE},
+        consumes = MediaType.APPLICATION_JSON_VALUE)
 public class UserController {
 
     private final SingUpUseCase signUpUseCase;
     private final LoginUseCase loginUseCase;
+    private final BatchSignUpUseCase batchSignUpUseCase;
+    private final ObjectReader signUpReader;
+    private final int batchMaxSize;
+    private final RequestRateLimiter rateLimiter;
 
-    public UserController(SingUpUseCase signUpUseCase, LoginUseCase loginUseCase) {
+    public UserController(SingUpUseCase signUpUseCase,
+                          LoginUseCase loginUseCase,
+                          BatchSignUpUseCase batchSignUpUseCase,
+                          ObjectMapper objectMapper,
+                          @Value("${app.sign-up.batch.max-size:10000}") int batchMaxSize,
+                          ObjectProvider<RequestRateLimiter> rateLimiter) {
         this.signUpUseCase = signUpUseCase;
         this.loginUseCase = loginUseCase;
+        this.batchSignUpUseCase = batchSignUpUseCase;
+        this.signUpReader = objectMapper.readerFor(SignUpRequestDTO.class);
+        this.batchMaxSize = batchMaxSize;
+        this.rateLimiter = rateLimiter.getIfAvailable();
     }
 
     /**
      * Registers a new user.
      *
      * @param request the sign-up request containing user details
+     * @param http    the servlet request, for the client address
      * @return {@link ResponseEntity} with {@link UserResponseDTO} and HTTP status 201 Created
      */
-    @PostMapping(path = "/sign-up", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponseDTO> signUp(@Valid @RequestBody SignUpRequestDTO request) {
+    @PostMapping(path = "/sign-up", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, JsonConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<UserResponseDTO> signUp(@RequestBody SignUpRequestDTO request, HttpServletRequest http) {
+        if (rateLimiter != null) {
+            rateLimiter.checkClient(http.getRemoteAddr());
+            rateLimiter.checkEmail(request.getEmail());
+        }
         UserResponseDTO resp = signUpUseCase.apply(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(resp);
     }
 
+    /**
+     * Registers many users in one request.
+     * <p>
+     * Accepts either a JSON array or newline-delimited JSON of sign-up records; the
+     * body is read as a stream of records in both cases.
+     * </p>
+     *
+     * @param body the request body
+     * @param http the servlet request, for the client address
+     * @return {@link ResponseEntity} with one {@link BatchSignUpResultDTO} per record and HTTP status 200 OK
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(path = "/sign-up/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, JsonConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<BatchSignUpResultDTO>> signUpBatch(InputStream body, HttpServletRequest http)
+            throws IOException {
+        if (rateLimiter != null) {
+            rateLimiter.checkClient(http.getRemoteAddr());
+        }
+        List<SignUpRequestDTO> requests = new ArrayList<>();
+        try (MappingIterator<SignUpRequestDTO> records = signUpReader.readValues(body)) {
+            while (records.hasNextValue()) {
+                if (requests.size() == batchMaxSize) {
+                    throw new IllegalArgumentException("Batch exceeds " + batchMaxSize + " records");
+                }
+                requests.add(records.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed batch payload");
+        }
+        return ResponseEntity.ok(batchSignUpUseCase.apply(requests));
+    }
+
     /**
      * Authenticates a user using a JWT token from the Authorization header.
      *
      * @param authHeader the Authorization header containing the Bearer token
+     * @param http       the servlet request, for the client address
      * @return {@link ResponseEntity} with {@link UserResponseDTO} and HTTP status 200 OK
      */
-    @PostMapping(path = "/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponseDTO> login(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+    @PostMapping(path = "/login", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, JsonConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<UserResponseDTO> login(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                                 HttpServletRequest http) {
+        if (rateLimiter != null) {
+            rateLimiter.checkClient(http.getRemoteAddr());
+        }
         String token = authHeader.replace("Bearer ", "");
         UserResponseDTO resp = loginUseCase.apply(token);
         return ResponseEntity.ok(resp);
@@ -1,17 +1,17 @@
 package com.local.bci.router.exception;
 
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
+import com.local.bci.infrastructure.exception.RateLimitExceededException;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestControllerAdvice
 @Slf4j
@@ -27,15 +27,14 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.CONFLICT, 409, ex.getMessage());
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
-        String detail = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .map(error -> error.getField() + ": " + error.getDefaultMessage())
-                .collect(Collectors.joining(", "));
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<?> handleServiceBusy(HashingCapacityExceededException ex) {
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, 503, ex.getMessage(), ex.getRetryAfterSeconds());
+    }
 
-        return buildError(HttpStatus.BAD_REQUEST, 400, detail);
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<?> handleTooManyRequests(RateLimitExceededException ex) {
+        return buildError(HttpStatus.TOO_MANY_REQUESTS, 429, ex.getMessage(), ex.getRetryAfterSeconds());
     }
 
     @ExceptionHandler(Exception.class)
@@ -45,13 +44,31 @@ public class GlobalExceptionHandler {
     }
 
     private ResponseEntity<?> buildError(org.springframework.http.HttpStatus status, int code, String detail) {
-        var err = new ErrorItem(Instant.now().toString(), code, detail);
         return ResponseEntity.status(status)
-                .body(Collections.singletonMap("error", List.of(err)));
+                .body(new ErrorResponse(new ErrorItem(Instant.now().toString(), code, detail)));
+    }
+
+    private ResponseEntity<?> buildError(HttpStatus status, int code, String detail, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(new ErrorItem(Instant.now().toString(), code, detail)));
+    }
+
+    /**
+     * Error body, {@code {"error":[{...}]}}. A concrete type rather than a map, so
+     * Jackson serializes it with a bean serializer resolved once per class.
+     */
+    @Data
+    public static class ErrorResponse {
+        private final List<ErrorItem> error;
+
+        public ErrorResponse(ErrorItem item) {
+            this.error = List.of(item);
+        }
     }
 
     @Data
-    static class ErrorItem {
+    public static class ErrorItem {
         private final String timestamp;
         private final int codigo;
         private final String detail;
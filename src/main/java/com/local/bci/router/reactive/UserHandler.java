@@ -0,0 +1,103 @@
+package com.local.bci.router.reactive;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.usecase.ReactiveLoginUseCase;
+import com.local.bci.application.usecase.ReactiveSignUpUseCase;
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
+import com.local.bci.infrastructure.exception.InvalidTokenException;
+import com.local.bci.router.exception.GlobalExceptionHandler;
+import com.local.bci.router.exception.GlobalExceptionHandler.ErrorItem;
+import com.local.bci.router.exception.GlobalExceptionHandler.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Handles the user endpoints of the {@code reactive} profile.
+ * <p>
+ * Same contract as {@code UserController}: 201 for a sign-up, 200 for a login, and
+ * failures mapped to the statuses and error body of {@link GlobalExceptionHandler}.
+ * JSON or Smile is written according to {@code Accept}.
+ * </p>
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class UserHandler {
+
+    private final ReactiveSignUpUseCase signUpUseCase;
+    private final ReactiveLoginUseCase loginUseCase;
+
+    public UserHandler(ReactiveSignUpUseCase signUpUseCase, ReactiveLoginUseCase loginUseCase) {
+        this.signUpUseCase = signUpUseCase;
+        this.loginUseCase = loginUseCase;
+    }
+
+    /**
+     * Registers a new user.
+     *
+     * @param request the request carrying the sign-up details
+     * @return the registered user with HTTP status 201 Created
+     */
+    public Mono<ServerResponse> signUp(ServerRequest request) {
+        return request.bodyToMono(SignUpRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is required")))
+                .flatMap(signUpUseCase)
+                .flatMap(resp -> ServerResponse.status(HttpStatus.CREATED).bodyValue(resp))
+                .onErrorResume(this::error);
+    }
+
+    /**
+     * Authenticates a user using a JWT token from the Authorization header.
+     *
+     * @param request the request carrying the Bearer token
+     * @return the user with its refreshed token and HTTP status 200 OK
+     */
+    public Mono<ServerResponse> login(ServerRequest request) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null) {
+            return error(InvalidTokenException.INVALID_TOKEN);
+        }
+        String token = authHeader.replace("Bearer ", "");
+        return loginUseCase.apply(token)
+                .flatMap(resp -> ServerResponse.ok().bodyValue(resp))
+                .onErrorResume(this::error);
+    }
+
+    private Mono<ServerResponse> error(Throwable ex) {
+        if (ex instanceof HashingCapacityExceededException) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(((HashingCapacityExceededException) ex).getRetryAfterSeconds()))
+                    .bodyValue(body(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        if (ex instanceof IllegalStateException) {
+            return errorResponse(HttpStatus.CONFLICT, ex.getMessage());
+        }
+        if (ex instanceof ResponseStatusException) {
+            ResponseStatusException statusException = (ResponseStatusException) ex;
+            return errorResponse(statusException.getStatus(), statusException.getReason());
+        }
+        log.error("Unhandled error", ex);
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    }
+
+    private static Mono<ServerResponse> errorResponse(HttpStatus status, String detail) {
+        return ServerResponse.status(status).bodyValue(body(status, detail));
+    }
+
+    private static ErrorResponse body(HttpStatus status, String detail) {
+        return new ErrorResponse(new ErrorItem(Instant.now().toString(), status.value(), detail));
+    }
+}
@@ -0,0 +1,25 @@
+package com.local.bci.router.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Routes of the {@code reactive} profile: the {@code /sign-up} and {@code /login}
+ * endpoints of {@code UserController}, served by {@link UserHandler}.
+ */
+@Configuration
+@Profile("reactive")
+public class UserRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> userRouter(UserHandler handler) {
+        return route(POST("/sign-up"), handler::signUp)
+                .andRoute(POST("/login"), handler::login);
+    }
+}
@@ -0,0 +1,23 @@
+-- Schema of the reactive profile: the tables and constraints of the JPA mapping of UserEntity and PhoneEntity.
+CREATE TABLE IF NOT EXISTS users (
+    id           UUID PRIMARY KEY,
+    created      TIMESTAMP,
+    last_login   TIMESTAMP,
+    token        VARCHAR(1024),
+    token_digest VARCHAR(64),
+    is_active    BOOLEAN,
+    name         VARCHAR(255),
+    email        VARCHAR(255) NOT NULL,
+    password     VARCHAR(255),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_token_digest ON users (token_digest);
+
+CREATE TABLE IF NOT EXISTS phones (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id      UUID REFERENCES users (id),
+    number       BIGINT,
+    city_code    INT,
+    country_code VARCHAR(255)
+);
@@ -0,0 +1,88 @@
+package com.local.bci.integration;
+
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchSignUpIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void signUpBatch_JsonArray_ReportsResultPerRecord() throws Exception {
+        String body = "["
+                + "{\"name\":\"Ana\",\"email\":\"ana@example.com\",\"password\":\"Abcdef12\","
+                + "\"phones\":[{\"number\":1234567,\"cityCode\":1,\"countryCode\":\"56\"}]},"
+                + "{\"name\":\"Ana\",\"email\":\"ana@example.com\",\"password\":\"Abcdef12\"},"
+                + "{\"name\":\"Bob\",\"email\":\"bob@example.com\",\"password\":\"abc\"}"
+                + "]";
+
+        mockMvc.perform(post("/sign-up/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].user.email").value("ana@example.com"))
+                .andExpect(jsonPath("$[0].user.token").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].detail").value("Duplicate email in batch"))
+                .andExpect(jsonPath("$[2].status").value("REJECTED"))
+                .andExpect(jsonPath("$[2].detail").value("Invalid password format"));
+
+        assertEquals(1, userRepository.count());
+        assertTrue(userRepository.findByEmail("ana@example.com").isPresent());
+    }
+
+    @Test
+    void signUpBatch_Ndjson_RejectsEmailsAlreadyRegistered() throws Exception {
+        String first = "{\"name\":\"Ana\",\"email\":\"ana@example.com\",\"password\":\"Abcdef12\"}\n";
+        mockMvc.perform(post("/sign-up/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+
+        String second = "{\"name\":\"Ana\",\"email\":\"ana@example.com\",\"password\":\"Abcdef12\"}\n"
+                + "{\"name\":\"Eve\",\"email\":\"eve@example.com\",\"password\":\"Abcdef12\"}\n";
+        mockMvc.perform(post("/sign-up/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("REJECTED"))
+                .andExpect(jsonPath("$[0].detail").value("User already exists"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void signUpBatch_MalformedPayload_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/sign-up/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Malformed batch payload")));
+    }
+}
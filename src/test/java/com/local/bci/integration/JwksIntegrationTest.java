@@ -0,0 +1,96 @@
+package com.local.bci.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"app.jwt.algorithm=ES256", "app.jwt.es256.kid=test-key"})
+@AutoConfigureMockMvc
+class JwksIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void jwks_PublishesTheSigningKey() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(jsonPath("$.keys.length()", is(1)))
+                .andExpect(jsonPath("$.keys[0].kid", is("test-key")))
+                .andExpect(jsonPath("$.keys[0].kty", is("EC")))
+                .andExpect(jsonPath("$.keys[0].crv", is("P-256")))
+                .andExpect(jsonPath("$.keys[0].alg", is("ES256")));
+    }
+
+    @Test
+    void login_WithEs256Token_Returns200AndIssuesEs256Token() throws Exception {
+        String token = jwtService.generateToken("kevin@example.com");
+        assertTrue(token.startsWith("eyJhbGciOiJFUzI1NiIs"));
+
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setEmail("kevin@example.com");
+        user.setName("Kevin Test");
+        user.setPassword("encrypted");
+        user.setToken(token);
+        user.setIsActive(true);
+        userRepository.save(user);
+
+        mockMvc.perform(post("/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("kevin@example.com")))
+                .andExpect(jsonPath("$.token", startsWith("eyJhbGciOiJFUzI1NiIs")));
+    }
+
+    @Test
+    void signUp_WithLongEmail_StoresTheEs256Token() throws Exception {
+        String email = "maria.fernanda.gonzalez.rodriguez@mail.example.com";
+        String body = mockMvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Maria\",\"email\":\"" + email + "\",\"password\":\"Abcdef12\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token", startsWith("eyJhbGciOiJFUzI1NiIs")))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        assertTrue(token.length() > 255);
+        assertEquals(token, userRepository.findByEmail(email).orElseThrow().getToken());
+    }
+}
@@ -0,0 +1,105 @@
+package com.local.bci.integration;
+
+import com.local.bci.infrastructure.persistence.entity.PhoneEntity;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.JwtService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks the number of SQL statements issued per login and per sign-up, so that a
+ * lazy phones load or a full merge of the user graph shows up as a test failure.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void login_LoadsUserWithPhonesInOneQueryAndUpdatesInOne() throws Exception {
+        String token = jwtService.generateToken("kevin@example.com");
+        userRepository.save(userWithPhones("kevin@example.com", token));
+        statistics.clear();
+
+        mockMvc.perform(post("/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phones.length()").value(2));
+
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void signUp_IssuesNoSelectOfTheNewUser() throws Exception {
+        // fills the phones_seq pool, so the phone id of the sign-up needs no sequence call
+        userRepository.save(userWithPhones("kevin@example.com", jwtService.generateToken("kevin@example.com")));
+        statistics.clear();
+
+        mockMvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ana\",\"email\":\"query.count@example.com\",\"password\":\"Abcdef12\","
+                                + "\"phones\":[{\"number\":1234567,\"cityCode\":1,\"countryCode\":\"56\"}]}"))
+                .andExpect(status().isCreated());
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        // the email filter misses for an email never registered, so no existence check:
+        // user insert, phone insert and join column update
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private static UserEntity userWithPhones(String email, String token) {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setName("Kevin");
+        user.setPassword("encrypted");
+        user.setToken(token);
+        user.setIsActive(true);
+        List<PhoneEntity> phones = new ArrayList<>();
+        phones.add(new PhoneEntity(null, 1234567L, 1, "56"));
+        phones.add(new PhoneEntity(null, 7654321L, 2, "56"));
+        user.setPhones(phones);
+        return user;
+    }
+}
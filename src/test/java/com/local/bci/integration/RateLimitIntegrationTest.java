@@ -0,0 +1,86 @@
+package com.local.bci.integration;
+
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.client.burst=3",
+        "app.rate-limit.client.rate-per-second=0.01",
+        "app.rate-limit.email.burst=2",
+        "app.rate-limit.email.rate-per-second=0.01"})
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_RejectsClientOnceItsBucketIsEmpty() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login("10.0.0.1"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.error[0].codigo", is(429)))
+                .andExpect(jsonPath("$.error[0].detail", is("Too many requests")));
+        mockMvc.perform(login("10.0.0.2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void signUp_RejectsEmailOnceItsBucketIsEmpty() throws Exception {
+        mockMvc.perform(signUp("10.0.1.1", "ana@example.com"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(signUp("10.0.1.2", "ana@example.com"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(signUp("10.0.1.3", "ana@example.com"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(signUp("10.0.1.3", "bea@example.com"))
+                .andExpect(status().isCreated());
+    }
+
+    private static MockHttpServletRequestBuilder login(String address) {
+        return post("/login")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not.a.token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                });
+    }
+
+    private static MockHttpServletRequestBuilder signUp(String address, String email) {
+        return post("/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Ana\",\"email\":\"" + email + "\",\"password\":\"Abcdef12\"}")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                });
+    }
+}
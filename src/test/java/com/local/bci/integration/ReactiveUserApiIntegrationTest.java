@@ -0,0 +1,138 @@
+package com.local.bci.integration;
+
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveUserApiIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM phones").fetch().rowsUpdated()
+                .then(databaseClient.sql("DELETE FROM users").fetch().rowsUpdated())
+                .block();
+    }
+
+    @Test
+    void signUp_Success_Returns201WithToken() {
+        UserResponseDTO created = signUp("kevin@example.com")
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(created);
+        assertNotNull(created.getId());
+        assertNotNull(created.getToken());
+        assertEquals("kevin@example.com", created.getEmail());
+        assertEquals(1, created.getPhones().size());
+    }
+
+    @Test
+    void signUp_DuplicateEmail_Returns409() {
+        signUp("kevin@example.com").expectStatus().isCreated();
+
+        signUp("kevin@example.com")
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error[0].codigo").isEqualTo(409)
+                .jsonPath("$.error[0].detail").isEqualTo("User already exists");
+    }
+
+    @Test
+    void signUp_InvalidPassword_Returns400() {
+        SignUpRequestDTO request = request("kevin@example.com");
+        request.setPassword("short");
+
+        webTestClient.post().uri("/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error[0].detail").isEqualTo("Invalid password format");
+    }
+
+    @Test
+    void login_RotatesTokenAndRejectsReuse() throws InterruptedException {
+        UserResponseDTO created = signUp("kevin@example.com")
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertNotNull(created);
+        // tokens have second precision: log in on the next second so the new token differs
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+
+        UserResponseDTO loggedIn = login(created.getToken())
+                .expectStatus().isOk()
+                .expectBody(UserResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(loggedIn);
+        assertEquals(created.getId(), loggedIn.getId());
+        assertNotEquals(created.getToken(), loggedIn.getToken());
+        assertEquals(1, loggedIn.getPhones().size());
+
+        login(created.getToken())
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error[0].detail").isEqualTo("Token already used");
+    }
+
+    @Test
+    void login_WithMalformedToken_Returns400() {
+        login("this.is.not.valid")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error[0].detail").isEqualTo("Invalid token");
+    }
+
+    private WebTestClient.ResponseSpec signUp(String email) {
+        return webTestClient.post().uri("/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(email))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec login(String token) {
+        return webTestClient.post().uri("/login")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange();
+    }
+
+    private static SignUpRequestDTO request(String email) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin Pineda");
+        request.setEmail(email);
+        request.setPassword("Abcdef12");
+        PhoneDTO phone = new PhoneDTO();
+        phone.setNumber(1234567L);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        request.setPhones(Collections.singletonList(phone));
+        return request;
+    }
+}
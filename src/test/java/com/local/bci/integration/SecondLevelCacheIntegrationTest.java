@@ -0,0 +1,120 @@
+package com.local.bci.integration;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
+import com.local.bci.infrastructure.persistence.entity.PhoneEntity;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.cache.hibernate.enabled=true")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserRepositoryAdapter adapter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findById_SecondLookupIsServedFromTheCache() {
+        UUID id = userRepository.save(userWithPhones("kevin@example.com", "token-value")).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        adapter.findById(id).orElseThrow();
+        statistics.clear();
+        UserModel cached = adapter.findById(id).orElseThrow();
+
+        assertEquals(2, cached.getPhones().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(UserEntity.CACHE_REGION).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(UserEntity.PHONES_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void existsByEmail_ResolvesCachedEmailWithoutQuery() {
+        userRepository.save(userWithPhones("kevin@example.com", "token-value"));
+
+        assertTrue(adapter.existsByEmail("kevin@example.com"));
+        statistics.clear();
+
+        assertTrue(adapter.existsByEmail("kevin@example.com"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertFalse(adapter.existsByEmail("other@example.com"));
+    }
+
+    @Test
+    void updateLogin_EvictsOnlyTheUpdatedUser() {
+        UUID kevin = userRepository.save(userWithPhones("kevin@example.com", "kevin-token")).getId();
+        UUID ana = userRepository.save(userWithPhones("ana@example.com", "ana-token")).getId();
+        adapter.findById(kevin).orElseThrow();
+        adapter.findById(ana).orElseThrow();
+
+        UserModel login = adapter.findById(kevin).orElseThrow();
+        login.setLastLogin(LocalDateTime.now());
+        login.setToken("kevin-new-token");
+        assertEquals(1, adapter.updateLogin(login, "kevin-token"));
+
+        assertFalse(entityManagerFactory.getCache().contains(UserEntity.class, kevin));
+        assertTrue(entityManagerFactory.getCache().contains(UserEntity.class, ana));
+        assertEquals("kevin-new-token", adapter.findById(kevin).orElseThrow().getToken());
+        assertEquals(0, adapter.updateLogin(login, "kevin-token"));
+    }
+
+    @Test
+    void regionStatistics_ArePublishedAsMetrics() {
+        UUID id = userRepository.save(userWithPhones("kevin@example.com", "token-value")).getId();
+        adapter.findById(id).orElseThrow();
+        adapter.findById(id).orElseThrow();
+
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", UserEntity.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter().count() > 0);
+    }
+
+    private static UserEntity userWithPhones(String email, String token) {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setName("Kevin");
+        user.setPassword("encrypted");
+        user.setToken(token);
+        user.setIsActive(true);
+        List<PhoneEntity> phones = new ArrayList<>();
+        phones.add(new PhoneEntity(null, 1234567L, 1, "56"));
+        phones.add(new PhoneEntity(null, 7654321L, 2, "56"));
+        user.setPhones(phones);
+        return user;
+    }
+}
@@ -0,0 +1,134 @@
+package com.local.bci.integration;
+
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.usecase.SingUpUseCase;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SignUpConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private SingUpUseCase signUpUseCase;
+
+    @Autowired
+    private UserRepositoryAdapter adapter;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSignUpsForSameEmail_ExactlyOneSucceedsAndOthersConflict() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            String email = "race" + round + "@example.com";
+
+            Outcome outcome = race(i -> () -> signUpUseCase.apply(request(email)));
+
+            assertEquals(1, outcome.succeeded.get(), "round " + round);
+            assertEquals(THREADS - 1, outcome.conflicted.get(), "round " + round);
+            assertTrue(outcome.unexpected.isEmpty(), outcome.unexpected::toString);
+        }
+        assertEquals(ROUNDS, userRepository.count());
+    }
+
+    @Test
+    void concurrentSignUpsForDistinctEmails_AllSucceed() throws Exception {
+        Outcome outcome = race(i -> () -> signUpUseCase.apply(request("user" + i + "@example.com")));
+
+        assertEquals(THREADS, outcome.succeeded.get());
+        assertTrue(outcome.unexpected.isEmpty(), outcome.unexpected::toString);
+        assertEquals(THREADS, userRepository.count());
+    }
+
+    @Test
+    void concurrentInsertsBypassingLocks_AreResolvedByUniqueConstraint() throws Exception {
+        Outcome outcome = race(i -> () -> adapter.create(user("direct@example.com")));
+
+        assertEquals(1, outcome.succeeded.get());
+        assertEquals(THREADS - 1, outcome.conflicted.get());
+        assertTrue(outcome.unexpected.isEmpty(), outcome.unexpected::toString);
+        assertEquals(1, userRepository.count());
+    }
+
+    private Outcome race(IntFunction<Callable<?>> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Outcome outcome = new Outcome();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<?> call = task.apply(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        call.call();
+                        outcome.succeeded.incrementAndGet();
+                    } catch (UserExistsException e) {
+                        outcome.conflicted.incrementAndGet();
+                    } catch (Exception e) {
+                        outcome.unexpected.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return outcome;
+    }
+
+    private static SignUpRequestDTO request(String email) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin");
+        request.setEmail(email);
+        request.setPassword("Abcdef12");
+        return request;
+    }
+
+    private static UserModel user(String email) {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setCreated(LocalDateTime.now());
+        user.setLastLogin(LocalDateTime.now());
+        user.setIsActive(Boolean.TRUE);
+        user.setName("Kevin");
+        user.setEmail(email);
+        user.setPasswordEncrypted("hash");
+        user.setToken(UUID.randomUUID().toString());
+        return user;
+    }
+
+    private static final class Outcome {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger conflicted = new AtomicInteger();
+        private final List<Exception> unexpected = new CopyOnWriteArrayList<>();
+    }
+}
@@ -1,13 +1,18 @@
 package com.local.bci.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.local.bci.application.dto.SignUpRequestDTO;
 import com.local.bci.application.dto.UserResponseDTO;
 import com.local.bci.application.usecase.SingUpUseCase;
+import com.local.bci.application.usecase.impl.SignUpUseCaseImpl;
+import com.local.bci.infrastructure.config.JsonConfig;
 import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -15,8 +20,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +43,9 @@ class SignUpIntegrationTest {
     @Autowired
     private UserJpaRepository userRepository;
 
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
     @MockBean
     private SingUpUseCase signUpUseCase;
 
@@ -62,6 +72,34 @@ class SignUpIntegrationTest {
                 .andExpect(jsonPath("$.email").value("kevin@example.com"));
     }
 
+    @Test
+    void signUp_WithSmileAccept_ReturnsSmile() throws Exception {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin");
+        request.setEmail("kevin@example.com");
+        request.setPassword("Abcdef12");
+
+        UserResponseDTO response = new UserResponseDTO();
+        response.setId(UUID.randomUUID());
+        response.setName("Kevin");
+        response.setEmail("kevin@example.com");
+        response.setCreated(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        Mockito.when(signUpUseCase.apply(any())).thenReturn(response);
+
+        byte[] body = mockMvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(JsonConfig.APPLICATION_SMILE_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(JsonConfig.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals("kevin@example.com", decoded.get("email").asText());
+        assertEquals("2024-01-02T03:04:05", decoded.get("created").asText());
+    }
+
     @Test
     void signUp_EmailAlreadyExists() throws Exception {
         SignUpRequestDTO request = new SignUpRequestDTO();
@@ -76,7 +114,8 @@ class SignUpIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isConflict())
-                .andExpect(content().string(org.hamcrest.Matchers.containsString("User already exists")));
+                .andExpect(jsonPath("$.error[0].codigo").value(409))
+                .andExpect(jsonPath("$.error[0].detail").value("User already exists"));
     }
 
     @Test
@@ -102,9 +141,14 @@ class SignUpIntegrationTest {
         request.setName("Kevin");
         request.setPassword("Abcdef12");
 
+        SingUpUseCase realUseCase = beanFactory.createBean(SignUpUseCaseImpl.class);
+        Mockito.when(signUpUseCase.apply(any()))
+                .thenAnswer(invocation -> realUseCase.apply(invocation.getArgument(0)));
+
         mockMvc.perform(post("/sign-up")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Invalid email format")));
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.local.bci.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
+import com.local.bci.infrastructure.security.TokenDenylist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.login.stateless.enabled=true")
+@AutoConfigureMockMvc
+class StatelessLoginIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_RotatesTokenAndRejectsReplayOfThePreviousOne() throws Exception {
+        String body = mockMvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ana\",\"email\":\"ana@example.com\",\"password\":\"Abcdef12\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode user = objectMapper.readTree(body);
+        String token = user.get("token").asText();
+        TokenClaims claims = jwtService.verify(token).orElseThrow();
+        assertEquals(user.get("id").asText(), claims.getUserId().toString());
+        assertNotNull(claims.getTokenId());
+
+        mockMvc.perform(post("/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("ana@example.com")));
+
+        assertTrue(denylist.isRevoked(claims.getTokenId()));
+        mockMvc.perform(post("/login")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error[0].detail", is("Invalid token")));
+    }
+
+    @Test
+    void signUp_StoresTokenLongerThanADefaultVarchar() throws Exception {
+        String email = "maria.fernanda.gonzalez@mail.example.com";
+        String body = mockMvc.perform(post("/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Maria\",\"email\":\"" + email + "\",\"password\":\"Abcdef12\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        assertTrue(token.length() > 255);
+        assertEquals(token, userRepository.findByEmail(email).orElseThrow().getToken());
+    }
+}
@@ -0,0 +1,82 @@
+package com.local.bci.integration;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
+import com.local.bci.infrastructure.persistence.entity.UserEntity;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TokenDigestLookupIntegrationTest {
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private UserRepositoryAdapter adapter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void save_StoresDigestOfToken() {
+        UserEntity saved = userRepository.save(user("kevin@example.com", "token-value"));
+
+        UserEntity reloaded = userRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(TokenDigest.of("token-value"), reloaded.getTokenDigest());
+        assertEquals(TokenDigest.LENGTH, reloaded.getTokenDigest().length());
+    }
+
+    @Test
+    void findByToken_ResolvesThroughDigest() {
+        userRepository.save(user("kevin@example.com", "token-value"));
+
+        Optional<UserModel> found = adapter.findByToken("token-value");
+
+        assertTrue(found.isPresent());
+        assertEquals("kevin@example.com", found.get().getEmail());
+        assertTrue(adapter.findByToken("other-token").isEmpty());
+    }
+
+    @Test
+    void tokenDigestColumn_HasUniqueIndex() throws Exception {
+        boolean found = false;
+        try (Connection connection = dataSource.getConnection();
+             ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, "USERS", true, false)) {
+            while (indexes.next()) {
+                if ("TOKEN_DIGEST".equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+                    found = true;
+                }
+            }
+        }
+        assertTrue(found);
+    }
+
+    private static UserEntity user(String email, String token) {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setName("Kevin Test");
+        user.setPassword("encrypted");
+        user.setToken(token);
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,39 @@
+package com.local.bci.integration;
+
+import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.unit.UserStoreContractTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+class UserRepositoryAdapterContractIntegrationTest extends UserStoreContractTest {
+
+    @Autowired
+    private UserRepositoryAdapter adapter;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Override
+    protected UserStore store() {
+        return adapter;
+    }
+
+    @Override
+    protected List<String> allEmails() {
+        List<String> emails = new ArrayList<>();
+        adapter.forEachEmail(emails::add);
+        return emails;
+    }
+}
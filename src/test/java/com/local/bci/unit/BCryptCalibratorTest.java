@@ -0,0 +1,34 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.BCryptCalibrator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCalibratorTest {
+
+    @Test
+    void calibrate_WithGenerousBudget_PicksMaxStrength() {
+        BCryptCalibrator.Result result = BCryptCalibrator.calibrate(4, 6, 60_000L, 2);
+
+        assertEquals(6, result.getStrength());
+        assertEquals(3, result.getMaxMillis().size());
+    }
+
+    @Test
+    void calibrate_WithBudgetBelowMinimum_FallsBackToMinStrength() {
+        BCryptCalibrator.Result result = BCryptCalibrator.calibrate(4, 6, 0L, 2);
+
+        assertEquals(4, result.getStrength());
+        assertEquals(1, result.getMaxMillis().size());
+    }
+
+    @Test
+    void calibrate_WithMinStrengthAboveMax_IsRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> BCryptCalibrator.calibrate(12, 10, 80L, 2));
+
+        assertEquals("app.security.bcrypt.min-strength 12 is above app.security.bcrypt.max-strength 10",
+                exception.getMessage());
+    }
+}
@@ -0,0 +1,143 @@
+package com.local.bci.unit;
+
+import com.local.bci.application.dto.BatchSignUpResultDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.dto.UserResponseDTO;
+import com.local.bci.application.mapper.UserDtoModelMapper;
+import com.local.bci.application.usecase.impl.BatchSignUpUseCaseImpl;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.FindExistingEmailsPort;
+import com.local.bci.domain.port.persistence.SaveUsersPort;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchSignUpUseCaseTest {
+
+    @Mock
+    private UserDtoModelMapper dtoMapper;
+
+    @Mock
+    private SaveUsersPort saveUsersPort;
+
+    @Mock
+    private FindExistingEmailsPort findExistingEmailsPort;
+
+    @Mock
+    private PasswordHashingExecutor passwordHasher;
+
+    @Mock
+    private JwtService jwtService;
+
+    private BatchSignUpUseCaseImpl batchSignUpUseCase;
+
+    @BeforeEach
+    void setUp() {
+        SignUpRequestValidator validator = new SignUpRequestValidator(
+                "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$",
+                "^(?=.{8,12}$)(?=[^A-Z]*[A-Z][^A-Z]*$)(?=[^0-9]*[0-9][^0-9]*[0-9][^0-9]*$)[A-Za-z0-9]+$");
+        batchSignUpUseCase = new BatchSignUpUseCaseImpl(dtoMapper, saveUsersPort, findExistingEmailsPort,
+                new UuidV7Generator(), passwordHasher, jwtService, validator, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_ReportsPerRecordResultsAcrossChunks() {
+        List<SignUpRequestDTO> requests = Arrays.asList(
+                request("new1@example.com", "Abcdef12"),
+                request("bad-email", "Abcdef12"),
+                request("new1@example.com", "Abcdef12"),
+                request("taken@example.com", "Abcdef12"),
+                request("new2@example.com", "badpass"));
+
+        when(findExistingEmailsPort.findExistingEmails(anyCollection()))
+                .thenAnswer(inv -> ((Collection<String>) inv.getArgument(0)).stream()
+                        .filter("taken@example.com"::equals)
+                        .collect(Collectors.toSet()));
+        when(passwordHasher.encodeAll(anyList()))
+                .thenAnswer(inv -> ((List<String>) inv.getArgument(0)).stream()
+                        .map(p -> "ENC-" + p)
+                        .collect(Collectors.toList()));
+        when(jwtService.generateToken(anyString(), any(UUID.class))).thenReturn("TOKEN");
+        when(dtoMapper.dtoToModel(any(SignUpRequestDTO.class))).thenAnswer(inv -> {
+            UserModel model = new UserModel();
+            model.setEmail(((SignUpRequestDTO) inv.getArgument(0)).getEmail());
+            return model;
+        });
+        when(saveUsersPort.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(dtoMapper.modelToResponseDto(any(UserModel.class))).thenAnswer(inv -> {
+            UserResponseDTO response = new UserResponseDTO();
+            response.setEmail(((UserModel) inv.getArgument(0)).getEmail());
+            return response;
+        });
+
+        List<BatchSignUpResultDTO> results = batchSignUpUseCase.apply(requests);
+
+        assertEquals(5, results.size());
+        assertEquals(BatchSignUpResultDTO.CREATED, results.get(0).getStatus());
+        assertEquals("ENC-Abcdef12", results.get(0).getUser().getPassword());
+        assertEquals("Invalid email format", results.get(1).getDetail());
+        assertEquals("Duplicate email in batch", results.get(2).getDetail());
+        assertEquals("User already exists", results.get(3).getDetail());
+        assertEquals("Invalid password format", results.get(4).getDetail());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        ArgumentCaptor<List<UserModel>> saved = ArgumentCaptor.forClass(List.class);
+        verify(saveUsersPort).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertNotNull(saved.getValue().get(0).getId());
+        assertEquals("TOKEN", saved.getValue().get(0).getToken());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_WhenChunkFailsToPersist_RejectsOnlyThatChunk() {
+        List<SignUpRequestDTO> requests = Arrays.asList(
+                request("a@example.com", "Abcdef12"),
+                request("b@example.com", "Abcdef12"),
+                request("c@example.com", "Abcdef12"));
+
+        when(findExistingEmailsPort.findExistingEmails(anyCollection())).thenReturn(Collections.emptySet());
+        when(passwordHasher.encodeAll(anyList()))
+                .thenAnswer(inv -> ((List<String>) inv.getArgument(0)).stream()
+                        .map(p -> "ENC")
+                        .collect(Collectors.toList()));
+        when(jwtService.generateToken(anyString(), any(UUID.class))).thenReturn("TOKEN");
+        when(dtoMapper.dtoToModel(any(SignUpRequestDTO.class))).thenAnswer(inv -> new UserModel());
+        when(saveUsersPort.saveAll(anyList()))
+                .thenThrow(new UserPersistenceException("Failed to save users", null))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(dtoMapper.modelToResponseDto(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        List<BatchSignUpResultDTO> results = batchSignUpUseCase.apply(requests);
+
+        assertEquals(BatchSignUpResultDTO.REJECTED, results.get(0).getStatus());
+        assertEquals(BatchSignUpResultDTO.REJECTED, results.get(1).getStatus());
+        assertEquals(BatchSignUpResultDTO.CREATED, results.get(2).getStatus());
+    }
+
+    private static SignUpRequestDTO request(String email, String password) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setName("Kevin");
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
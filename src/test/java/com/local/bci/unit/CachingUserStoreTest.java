@@ -0,0 +1,109 @@
+package com.local.bci.unit;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.persistence.adapter.CachingUserStore;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserStoreTest {
+
+    @Mock
+    private UserStore delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingUserStore store;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new CachingUserStore(delegate, meterRegistry, 100, Duration.ofMinutes(5));
+        user = new UserModel(UUID.randomUUID(), LocalDateTime.now(), LocalDateTime.now(), "token-1",
+                true, "Kevin", "kevin@example.com", null, "hash", new ArrayList<>());
+    }
+
+    @Test
+    void findByEmail_SecondLookupIsServedFromCache() {
+        when(delegate.findByEmail("kevin@example.com")).thenReturn(Optional.of(user));
+
+        assertTrue(store.findByEmail("kevin@example.com").isPresent());
+        assertTrue(store.findByEmail("kevin@example.com").isPresent());
+
+        verify(delegate, times(1)).findByEmail("kevin@example.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingUserStore.BY_EMAIL_CACHE)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingUserStore.BY_EMAIL_CACHE)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void findByEmail_ReturnsCopiesThatDoNotAlterTheCache() {
+        when(delegate.findByEmail("kevin@example.com")).thenReturn(Optional.of(user));
+
+        UserModel first = store.findByEmail("kevin@example.com").orElseThrow();
+        first.setToken("changed");
+
+        assertEquals("token-1", store.findByEmail("kevin@example.com").orElseThrow().getToken());
+        assertNotSame(first, store.findByEmail("kevin@example.com").orElseThrow());
+    }
+
+    @Test
+    void findByEmail_DoesNotCacheMissingUsers() {
+        when(delegate.findByEmail("new@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(store.findByEmail("new@example.com").isEmpty());
+        assertTrue(store.findByEmail("new@example.com").isEmpty());
+
+        verify(delegate, times(2)).findByEmail("new@example.com");
+    }
+
+    @Test
+    void updateLogin_EvictsPreviousTokenAndEmail() {
+        when(delegate.findByToken("token-1")).thenReturn(Optional.of(user));
+        when(delegate.findByEmail("kevin@example.com")).thenReturn(Optional.of(user));
+        store.findByToken("token-1");
+        store.findByEmail("kevin@example.com");
+
+        UserModel loggedIn = store.findByToken("token-1").orElseThrow();
+        loggedIn.setToken("token-2");
+        store.updateLogin(loggedIn, "token-1");
+        when(delegate.findByToken("token-1")).thenReturn(Optional.empty());
+
+        assertTrue(store.findByToken("token-1").isEmpty());
+        store.findByEmail("kevin@example.com");
+        verify(delegate).updateLogin(loggedIn, "token-1");
+        verify(delegate, times(2)).findByToken("token-1");
+        verify(delegate, times(2)).findByEmail("kevin@example.com");
+    }
+
+    @Test
+    void apply_EvictsTokenCachedForTheSameUser() {
+        when(delegate.findByToken("token-1")).thenReturn(Optional.of(user));
+        store.findByToken("token-1");
+
+        UserModel updated = new UserModel(user.getId(), user.getCreated(), user.getLastLogin(), "token-3",
+                true, "Kevin", "kevin@example.com", null, "hash", new ArrayList<>());
+        when(delegate.apply(updated)).thenReturn(updated);
+        store.apply(updated);
+        store.findByToken("token-1");
+
+        verify(delegate, times(2)).findByToken("token-1");
+    }
+}
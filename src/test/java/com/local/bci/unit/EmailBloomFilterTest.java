@@ -0,0 +1,73 @@
+package com.local.bci.unit;
+
+import com.local.bci.domain.port.persistence.ListUserEmailsPort;
+import com.local.bci.infrastructure.persistence.membership.BloomFilter;
+import com.local.bci.infrastructure.persistence.membership.EmailBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailBloomFilterTest {
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesAndStaysNearTargetRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.estimatedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void mightExist_BeforeWarming_ReportsEveryEmailAsPossiblyRegistered() {
+        EmailBloomFilter emailFilter = new EmailBloomFilter(mock(ListUserEmailsPort.class), new SimpleMeterRegistry(),
+                true, 1_000, 0.01);
+
+        assertFalse(emailFilter.isWarmed());
+        assertTrue(emailFilter.mightExist("new@example.com"));
+    }
+
+    @Test
+    void warm_LoadsRegisteredEmailsAndTracksNewOnes() {
+        ListUserEmailsPort emailSource = action -> action.accept("existing@example.com");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmailBloomFilter emailFilter = new EmailBloomFilter(emailSource, registry, true, 1_000, 0.01);
+
+        emailFilter.warm();
+        emailFilter.add("saved@example.com");
+
+        assertTrue(emailFilter.isWarmed());
+        assertTrue(emailFilter.mightExist("existing@example.com"));
+        assertTrue(emailFilter.mightExist("saved@example.com"));
+        assertFalse(emailFilter.mightExist("new@example.com"));
+        assertEquals(1.0, registry.get("users.email.filter.lookups").tag("result", "absent").counter().count());
+        assertEquals(0.01, registry.get("users.email.filter.fpp.configured").gauge().value());
+        assertTrue(registry.get("users.email.filter.size").gauge().value() > 0);
+    }
+
+    @Test
+    void disabledFilter_NeverSkipsTheDatabase() {
+        ListUserEmailsPort emailSource = mock(ListUserEmailsPort.class);
+        EmailBloomFilter emailFilter = new EmailBloomFilter(emailSource, new SimpleMeterRegistry(),
+                false, 1_000, 0.01);
+
+        emailFilter.warm();
+        emailFilter.add("saved@example.com");
+
+        assertTrue(emailFilter.mightExist("new@example.com"));
+        verifyNoInteractions(emailSource);
+    }
+}
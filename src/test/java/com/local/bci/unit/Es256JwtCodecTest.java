@@ -0,0 +1,132 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.Es256JwtCodec;
+import com.local.bci.infrastructure.security.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Es256JwtCodecTest {
+
+    private static final long IAT = 1_700_000_000L;
+
+    private static final long EXP = IAT + 3600;
+
+    private KeyPair retired;
+    private KeyPair active;
+    private Es256JwtCodec codec;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        retired = generateKeyPair();
+        active = generateKeyPair();
+        Map<String, PublicKey> ring = new LinkedHashMap<>();
+        ring.put("key-1", retired.getPublic());
+        ring.put("key-2", active.getPublic());
+        codec = new Es256JwtCodec("key-2", active.getPrivate(), ring);
+    }
+
+    @Test
+    void encode_WritesAlgorithmAndKidInHeader() {
+        String token = codec.encode("kevin@example.com", IAT, EXP);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+        assertEquals("{\"alg\":\"ES256\",\"kid\":\"key-2\"}", header);
+        assertEquals(86, token.split("\\.")[2].length());
+    }
+
+    @Test
+    void decode_ReturnsClaimsOfOwnToken() {
+        TokenClaims claims = codec.decode(codec.encode("a\"b\\c\u00e9@example.com", IAT, EXP), IAT * 1000);
+
+        assertNotNull(claims);
+        assertEquals("a\"b\\c\u00e9@example.com", claims.getSubject());
+        assertEquals(EXP, claims.getExpiration().getEpochSecond());
+    }
+
+    @Test
+    void decode_AcceptsTokenSignedWithRetiredKey() {
+        Es256JwtCodec previous = new Es256JwtCodec("key-1", retired.getPrivate(), Map.of("key-1", retired.getPublic()));
+
+        TokenClaims claims = codec.decode(previous.encode("kevin@example.com", IAT, EXP), IAT * 1000);
+
+        assertNotNull(claims);
+        assertEquals("kevin@example.com", claims.getSubject());
+    }
+
+    @Test
+    void decode_RejectsUnknownKidTamperingAndExpiry() throws Exception {
+        KeyPair foreign = generateKeyPair();
+        Es256JwtCodec other = new Es256JwtCodec("key-3", foreign.getPrivate(), Map.of("key-3", foreign.getPublic()));
+        Es256JwtCodec impostor = new Es256JwtCodec("key-2", foreign.getPrivate(), Map.of("key-2", foreign.getPublic()));
+        String token = codec.encode("kevin@example.com", IAT, EXP);
+        String[] parts = token.split("\\.");
+        String swapped = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin@example.com\",\"iat\":1,\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8))
+                + "." + parts[2];
+
+        assertNull(codec.decode(other.encode("kevin@example.com", IAT, EXP), IAT * 1000));
+        assertNull(codec.decode(impostor.encode("kevin@example.com", IAT, EXP), IAT * 1000));
+        assertNull(codec.decode(swapped, IAT * 1000));
+        assertNull(codec.decode(token, EXP * 1000 + 1));
+        assertNull(codec.decode("this.is.not.valid", IAT * 1000));
+    }
+
+    @Test
+    void publicJwks_LetsAnotherPartyVerifyTheSignature() throws Exception {
+        String token = codec.encode("kevin@example.com", IAT, EXP);
+        List<Map<String, String>> jwks = codec.publicJwks();
+
+        assertEquals(2, jwks.size());
+        Map<String, String> jwk = jwks.get(0);
+        assertEquals("key-2", jwk.get("kid"));
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals(43, jwk.get("x").length());
+        assertEquals(43, jwk.get("y").length());
+
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECPoint point = new ECPoint(new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("x"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("y"))));
+        PublicKey key = KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+        Signature verifier = Signature.getInstance("SHA256withECDSAinP1363Format");
+        verifier.initVerify(key);
+        verifier.update(token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(verifier.verify(Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1))));
+    }
+
+    @Test
+    void constructor_RequiresPublicKeyOfActiveKid() {
+        Map<String, PublicKey> ring = Map.of("key-1", retired.getPublic());
+
+        assertThrows(IllegalArgumentException.class, () -> new Es256JwtCodec("key-2", active.getPrivate(), ring));
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,58 @@
+package com.local.bci.unit;
+
+import com.local.bci.application.validation.EmailFormatValidator;
+import com.local.bci.application.validation.PasswordFormatValidator;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property-based proof that the hand-written validators accept exactly the
+ * strings matched by the default patterns they replace.
+ */
+class FormatValidatorProperties {
+
+    private static final Pattern EMAIL = Pattern.compile(EmailFormatValidator.REGEX);
+
+    private static final Pattern PASSWORD = Pattern.compile(PasswordFormatValidator.REGEX);
+
+    @Property(tries = 20_000)
+    void emailValidatorAgreesWithRegex(@ForAll("emailCandidates") String value) {
+        assertEquals(EMAIL.matcher(value).matches(), EmailFormatValidator.INSTANCE.isValid(value), value);
+    }
+
+    @Property(tries = 20_000)
+    void passwordValidatorAgreesWithRegex(@ForAll("passwordCandidates") String value) {
+        assertEquals(PASSWORD.matcher(value).matches(), PasswordFormatValidator.INSTANCE.isValid(value), value);
+    }
+
+    @Provide
+    Arbitrary<String> emailCandidates() {
+        Arbitrary<String> local = Arbitraries.strings().withChars("aZ9._%+-").ofMinLength(0).ofMaxLength(6);
+        Arbitrary<String> at = Arbitraries.of("@", "@", "@", "", "@@");
+        Arbitrary<String> domain = Arbitraries.strings().withChars("aZ9.-").ofMinLength(0).ofMaxLength(6);
+        Arbitrary<String> dot = Arbitraries.of(".", ".", "", "..");
+        Arbitrary<String> tld = Arbitraries.strings().withChars("abcXYZ9-").ofMinLength(0).ofMaxLength(8);
+        Arbitrary<String> tail = Arbitraries.of("", "", "", "\n", " ", "\u00e9");
+        Arbitrary<String> shaped = Combinators.combine(local, at, domain, dot, tld, tail)
+                .as((l, a, d, p, t, x) -> l + a + d + p + t + x);
+        Arbitrary<String> noise = Arbitraries.strings().withChars("aZ09._%+-@.\n \u00e9!").ofMaxLength(16);
+        return Arbitraries.oneOf(shaped, noise);
+    }
+
+    @Provide
+    Arbitrary<String> passwordCandidates() {
+        Arbitrary<String> alphanumeric = Arbitraries.strings()
+                .withChars("abcdefghxyzABZ0129")
+                .ofMinLength(6).ofMaxLength(14);
+        Arbitrary<String> noise = Arbitraries.strings().withChars("aZ09_ \n\u00e9").ofMaxLength(14);
+        return Arbitraries.oneOf(alphanumeric, alphanumeric, noise);
+    }
+}
@@ -0,0 +1,78 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.Hs256JwtCodec;
+import com.local.bci.infrastructure.security.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Hs256JwtCodecTest {
+
+    private static final String SECRET = "verySecretKeyThatYouShouldChangeInProd";
+
+    private static final long IAT = 1_700_000_000L;
+
+    private static final long EXP = IAT + 3600;
+
+    private final Hs256JwtCodec codec = new Hs256JwtCodec(SECRET);
+
+    @Test
+    void encode_ProducesTheSameTokenAsJjwt() {
+        String expected = Jwts.builder()
+                .setSubject("kevin@example.com")
+                .setIssuedAt(new Date(IAT * 1000))
+                .setExpiration(new Date(EXP * 1000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertEquals(expected, codec.encode("kevin@example.com", IAT, EXP));
+    }
+
+    @Test
+    void decode_AcceptsTokenIssuedByJjwt() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setSubject("kevin@example.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        TokenClaims claims = codec.decode(token, now);
+
+        assertNotNull(claims);
+        assertEquals("kevin@example.com", claims.getSubject());
+        assertEquals(Instant.ofEpochSecond(now / 1000), claims.getIssuedAt());
+    }
+
+    @Test
+    void encode_IsAcceptedByJjwt() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = codec.encode("a\"b\\c\u00e9\n@example.com", now, now + 60);
+
+        Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+
+        assertEquals("a\"b\\c\u00e9\n@example.com", claims.getSubject());
+        assertEquals("a\"b\\c\u00e9\n@example.com", codec.decode(token, now * 1000).getSubject());
+    }
+
+    @Test
+    void decode_RejectsExpiredTamperedAndForeignTokens() {
+        String token = codec.encode("kevin@example.com", IAT, EXP);
+
+        assertNotNull(codec.decode(token, EXP * 1000));
+        assertNull(codec.decode(token, EXP * 1000 + 1));
+        assertNull(codec.decode(token.substring(0, token.length() - 2) + "xx", IAT * 1000));
+        assertNull(new Hs256JwtCodec("anotherSecretKeyOfTheSameLength0000000").decode(token, IAT * 1000));
+        assertNull(codec.decode(Jwts.builder().setSubject("kevin@example.com")
+                .signWith(SignatureAlgorithm.HS512, SECRET).compact(), IAT * 1000));
+        assertNull(codec.decode("this.is.not.valid", IAT * 1000));
+        assertNull(codec.decode(null, IAT * 1000));
+    }
+}
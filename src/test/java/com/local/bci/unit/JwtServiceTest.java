@@ -0,0 +1,117 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.Es256JwtCodec;
+import com.local.bci.infrastructure.security.Hs256JwtCodec;
+import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
+import com.local.bci.infrastructure.security.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "verySecretKeyThatYouShouldChangeInProd";
+
+    private final JwtService jwtService = new JwtService(SECRET, 3600000L);
+
+    @Test
+    void verify_ReturnsClaimsForValidToken() {
+        String token = jwtService.generateToken("kevin@example.com");
+
+        Optional<TokenClaims> claims = jwtService.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("kevin@example.com", claims.get().getSubject());
+        assertNotNull(claims.get().getIssuedAt());
+        assertTrue(claims.get().getExpiration().isAfter(claims.get().getIssuedAt()));
+    }
+
+    @Test
+    void verify_ReturnsEmptyForTamperedToken() {
+        String token = jwtService.generateToken("kevin@example.com");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertFalse(jwtService.validateToken(tampered));
+        assertNull(jwtService.getSubject(tampered));
+    }
+
+    @Test
+    void verify_ReturnsEmptyForExpiredToken() {
+        JwtService expired = new JwtService(SECRET, -1000L);
+        String token = expired.generateToken("kevin@example.com");
+
+        assertTrue(jwtService.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_ReturnsEmptyForMalformedToken() {
+        assertTrue(jwtService.verify("this.is.not.valid").isEmpty());
+    }
+
+    @Test
+    void es256_SignsWithKeyRingAndAcceptsLiveHs256Tokens() throws Exception {
+        JwtService es256 = new JwtService(new Hs256JwtCodec(SECRET), es256Codec(), null, 3600000L);
+        String legacy = jwtService.generateToken("ana@example.com");
+        String token = es256.generateToken("kevin@example.com");
+
+        assertTrue(token.startsWith("eyJhbGciOiJFUzI1NiIs"));
+        assertEquals("kevin@example.com", es256.getSubject(token));
+        assertEquals("ana@example.com", es256.getSubject(legacy));
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertEquals(1, es256.publicJwks().size());
+        assertTrue(jwtService.publicJwks().isEmpty());
+    }
+
+    @Test
+    void es256_RejectsHs256TokensWhenNotAccepted() throws Exception {
+        JwtService es256Only = new JwtService(null, es256Codec(), null, 3600000L);
+
+        assertTrue(es256Only.verify(jwtService.generateToken("ana@example.com")).isEmpty());
+    }
+
+    @Test
+    void revoke_RejectsTokenUntilItExpires() {
+        TokenDenylist denylist = new TokenDenylist(65_536, Duration.ofHours(1), new SimpleMeterRegistry());
+        try {
+            JwtService stateless = new JwtService(new Hs256JwtCodec(SECRET), null, denylist, 3600000L);
+            UUID userId = UUID.randomUUID();
+            String token = stateless.generateToken("kevin@example.com", userId);
+            TokenClaims claims = stateless.verify(token).orElseThrow();
+
+            assertEquals(userId, claims.getUserId());
+            assertNotNull(claims.getTokenId());
+            assertTrue(stateless.revoke(claims));
+            assertFalse(stateless.revoke(claims));
+            assertTrue(stateless.verify(token).isEmpty());
+            assertTrue(jwtService.verify(token).isPresent());
+        } finally {
+            denylist.close();
+        }
+    }
+
+    @Test
+    void generateToken_WithoutDenylist_OmitsTokenAndUserIds() {
+        TokenClaims claims = jwtService.verify(jwtService.generateToken("kevin@example.com", UUID.randomUUID()))
+                .orElseThrow();
+
+        assertNull(claims.getTokenId());
+        assertNull(claims.getUserId());
+    }
+
+    private static Es256JwtCodec es256Codec() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(256);
+        KeyPair pair = generator.generateKeyPair();
+        return new Es256JwtCodec("key-1", pair.getPrivate(), Map.of("key-1", pair.getPublic()));
+    }
+}
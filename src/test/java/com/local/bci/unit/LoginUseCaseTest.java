@@ -4,15 +4,22 @@ import com.local.bci.application.dto.UserResponseDTO;
 import com.local.bci.application.mapper.UserDtoModelMapper;
 import com.local.bci.application.usecase.impl.LoginUseCaseImpl;
 import com.local.bci.domain.model.UserModel;
+import com.local.bci.domain.port.persistence.FindUserByIdPort;
 import com.local.bci.domain.port.persistence.FindUserByTokenPort;
-import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.UpdateLoginPort;
+import com.local.bci.infrastructure.exception.InvalidTokenException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
 import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.TokenClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,7 +34,10 @@ class LoginUseCaseTest {
     private FindUserByTokenPort findUserByTokenPort;
 
     @Mock
-    private SaveUserPort saveUserPort;
+    private FindUserByIdPort findUserByIdPort;
+
+    @Mock
+    private UpdateLoginPort updateLoginPort;
 
     @Mock
     private JwtService jwtService;
@@ -35,6 +45,11 @@ class LoginUseCaseTest {
     @Mock
     private UserDtoModelMapper dtoMapper;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UseCaseMetrics metrics = new UseCaseMetrics(meterRegistry);
+
     @InjectMocks
     private LoginUseCaseImpl loginUseCase;
 
@@ -51,14 +66,15 @@ class LoginUseCaseTest {
 
     @Test
     void shouldThrowWhenTokenInvalidAccordingToJwtService() {
-        when(jwtService.validateToken(rawToken)).thenReturn(false);
-        assertThrows(IllegalArgumentException.class, () -> loginUseCase.apply(rawToken));
+        when(jwtService.verify(rawToken)).thenReturn(Optional.empty());
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> loginUseCase.apply(rawToken));
+        assertSame(InvalidTokenException.INVALID_TOKEN, ex);
+        assertEquals(0, ex.getStackTrace().length);
     }
 
     @Test
     void shouldThrowWhenUserNotFoundForToken() {
-        when(jwtService.validateToken(rawToken)).thenReturn(true);
-        when(jwtService.getSubject(rawToken)).thenReturn("kevin@example.com");
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor("kevin@example.com")));
         when(findUserByTokenPort.findByToken(rawToken)).thenReturn(Optional.empty());
 
         assertThrows(IllegalStateException.class, () -> loginUseCase.apply(rawToken));
@@ -66,8 +82,7 @@ class LoginUseCaseTest {
 
     @Test
     void shouldThrowWhenSubjectMismatch() {
-        when(jwtService.validateToken(rawToken)).thenReturn(true);
-        when(jwtService.getSubject(rawToken)).thenReturn("kevin@example.com");
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor("kevin@example.com")));
 
         UserModel found = new UserModel();
         found.setEmail("other@example.com");
@@ -79,8 +94,7 @@ class LoginUseCaseTest {
     @Test
     void shouldLoginSuccessfullyAndRotateToken() {
         String subject = "kevin.pineda@example.com";
-        when(jwtService.validateToken(rawToken)).thenReturn(true);
-        when(jwtService.getSubject(rawToken)).thenReturn(subject);
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor(subject)));
 
         UserModel stored = new UserModel();
         stored.setEmail(subject);
@@ -91,8 +105,8 @@ class LoginUseCaseTest {
         stored.setIsActive(true);
 
         when(findUserByTokenPort.findByToken(rawToken)).thenReturn(Optional.of(stored));
-        when(jwtService.generateToken(subject)).thenReturn("NEW_TOKEN");
-        when(saveUserPort.apply(any(UserModel.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jwtService.generateToken(eq(subject), any())).thenReturn("NEW_TOKEN");
+        when(updateLoginPort.updateLogin(any(UserModel.class), eq(rawToken))).thenReturn(1);
 
         UserResponseDTO mapped = new UserResponseDTO();
         mapped.setEmail(subject);
@@ -104,7 +118,7 @@ class LoginUseCaseTest {
         assertNotNull(resp);
         assertEquals(subject, resp.getEmail());
         ArgumentCaptor<UserModel> captor = ArgumentCaptor.forClass(UserModel.class);
-        verify(saveUserPort).apply(captor.capture());
+        verify(updateLoginPort).updateLogin(captor.capture(), eq(rawToken));
         UserModel savedArg = captor.getValue();
 
         assertEquals("NEW_TOKEN", savedArg.getToken());
@@ -112,16 +126,35 @@ class LoginUseCaseTest {
         verify(dtoMapper).modelToResponseDto(savedArg);
 
         assertEquals(savedArg.getPasswordEncrypted(), resp.getPassword());
+        for (String stage : new String[]{"jwt_verify", "user_lookup", "jwt_sign", "persist", "mapping"}) {
+            assertEquals(1, meterRegistry.get(UseCaseMetrics.METER_NAME)
+                    .tag("usecase", "login").tag("stage", stage).timer().count());
+        }
     }
 
     @Test
-    void shouldThrowWhenSubjectNullOrBlank() {
-        when(jwtService.validateToken(rawToken)).thenReturn(true);
+    void shouldThrowWhenTokenWasAlreadyRotated() {
+        String subject = "kevin@example.com";
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor(subject)));
+        UserModel stored = new UserModel();
+        stored.setEmail(subject);
+        stored.setToken(rawToken);
+        stored.setIsActive(true);
+        when(findUserByTokenPort.findByToken(rawToken)).thenReturn(Optional.of(stored));
+        when(jwtService.generateToken(eq(subject), any())).thenReturn("NEW_TOKEN");
+        when(updateLoginPort.updateLogin(stored, rawToken)).thenReturn(0);
 
-        when(jwtService.getSubject(rawToken)).thenReturn(null);
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> loginUseCase.apply(rawToken));
+        assertEquals("Token already used", ex.getMessage());
+        verifyNoInteractions(dtoMapper);
+    }
+
+    @Test
+    void shouldThrowWhenSubjectNullOrBlank() {
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor(null)));
         assertThrows(IllegalArgumentException.class, () -> loginUseCase.apply(rawToken));
 
-        when(jwtService.getSubject(rawToken)).thenReturn("");
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor("")));
         assertThrows(IllegalArgumentException.class, () -> loginUseCase.apply(rawToken));
     }
 
@@ -129,8 +162,7 @@ class LoginUseCaseTest {
     void shouldThrowWhenUserIsInactive() {
         String subject = "kevin.pineda@example.com";
 
-        when(jwtService.validateToken(rawToken)).thenReturn(true);
-        when(jwtService.getSubject(rawToken)).thenReturn(subject);
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claimsFor(subject)));
 
         UserModel inactiveUser = new UserModel();
         inactiveUser.setEmail(subject);
@@ -146,4 +178,98 @@ class LoginUseCaseTest {
         assertEquals("Cannot login inactive user", exception.getMessage());
     }
 
+    @Test
+    void statelessLogin_LoadsUserByIdAndRevokesPresentedToken() {
+        String subject = "kevin@example.com";
+        UUID userId = UUID.randomUUID();
+        TokenClaims claims = statelessClaimsFor(subject, userId);
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claims));
+        when(jwtService.tracksTokenIds()).thenReturn(true);
+        when(jwtService.revoke(claims)).thenReturn(true);
+        UserModel stored = new UserModel();
+        stored.setId(userId);
+        stored.setEmail(subject);
+        stored.setToken(rawToken);
+        stored.setIsActive(true);
+        when(findUserByIdPort.findById(userId)).thenReturn(Optional.of(stored));
+        when(jwtService.generateToken(subject, userId)).thenReturn("NEW_TOKEN");
+        when(updateLoginPort.updateLogin(stored, rawToken)).thenReturn(1);
+        when(dtoMapper.modelToResponseDto(stored)).thenReturn(new UserResponseDTO());
+
+        loginUseCase.apply(rawToken);
+
+        verify(jwtService).revoke(claims);
+        verifyNoInteractions(findUserByTokenPort);
+        assertEquals("NEW_TOKEN", stored.getToken());
+    }
+
+    @Test
+    void statelessLogin_RejectsTokenThatIsNoLongerStored() {
+        UUID userId = UUID.randomUUID();
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(statelessClaimsFor("kevin@example.com", userId)));
+        when(jwtService.tracksTokenIds()).thenReturn(true);
+        UserModel stored = new UserModel();
+        stored.setId(userId);
+        stored.setEmail("kevin@example.com");
+        stored.setToken("newer.token.value");
+        stored.setIsActive(true);
+        when(findUserByIdPort.findById(userId)).thenReturn(Optional.of(stored));
+
+        assertThrows(IllegalStateException.class, () -> loginUseCase.apply(rawToken));
+        verify(jwtService, never()).revoke(any());
+        verifyNoInteractions(updateLoginPort);
+    }
+
+    @Test
+    void statelessLogin_RejectsTokenRotatedByConcurrentLogin() {
+        UUID userId = UUID.randomUUID();
+        TokenClaims claims = statelessClaimsFor("kevin@example.com", userId);
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claims));
+        when(jwtService.tracksTokenIds()).thenReturn(true);
+        UserModel stored = statelessUser(userId);
+        when(findUserByIdPort.findById(userId)).thenReturn(Optional.of(stored));
+        when(jwtService.generateToken("kevin@example.com", userId)).thenReturn("NEW_TOKEN");
+        when(updateLoginPort.updateLogin(stored, rawToken)).thenReturn(0);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> loginUseCase.apply(rawToken));
+        assertEquals("Token already used", ex.getMessage());
+        verify(jwtService, never()).revoke(any());
+    }
+
+    @Test
+    void statelessLogin_KeepsPresentedTokenValidWhenUpdateFails() {
+        UUID userId = UUID.randomUUID();
+        TokenClaims claims = statelessClaimsFor("kevin@example.com", userId);
+        when(jwtService.verify(rawToken)).thenReturn(Optional.of(claims));
+        when(jwtService.tracksTokenIds()).thenReturn(true);
+        UserModel stored = statelessUser(userId);
+        when(findUserByIdPort.findById(userId)).thenReturn(Optional.of(stored));
+        when(jwtService.generateToken("kevin@example.com", userId)).thenReturn("NEW_TOKEN");
+        when(updateLoginPort.updateLogin(stored, rawToken))
+                .thenThrow(new UserPersistenceException("Error updating login", null));
+
+        assertThrows(UserPersistenceException.class, () -> loginUseCase.apply(rawToken));
+        verify(jwtService, never()).revoke(any());
+        verifyNoInteractions(dtoMapper);
+    }
+
+    private UserModel statelessUser(UUID userId) {
+        UserModel stored = new UserModel();
+        stored.setId(userId);
+        stored.setEmail("kevin@example.com");
+        stored.setToken(rawToken);
+        stored.setIsActive(true);
+        return stored;
+    }
+
+    private static TokenClaims statelessClaimsFor(String subject, UUID userId) {
+        Instant now = Instant.now();
+        return new TokenClaims(subject, now, now.plusSeconds(3600), UUID.randomUUID(), userId);
+    }
+
+    private static TokenClaims claimsFor(String subject) {
+        Instant now = Instant.now();
+        return new TokenClaims(subject, now, now.plusSeconds(3600));
+    }
+
 }
@@ -0,0 +1,109 @@
+package com.local.bci.unit;
+
+import com.local.bci.domain.model.PhoneModel;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.persistence.offheap.OffHeapUserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapUserStoreTest extends UserStoreContractTest {
+
+    @TempDir
+    Path directory;
+
+    private OffHeapUserStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new OffHeapUserStore(directory.resolve("users.dat"), 4);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Override
+    protected UserStore store() {
+        return store;
+    }
+
+    @Override
+    protected List<String> allEmails() {
+        List<String> emails = new ArrayList<>();
+        store.forEachEmail(emails::add);
+        return emails;
+    }
+
+    @Test
+    void reopen_RebuildsIndexesFromFile() throws Exception {
+        List<UserModel> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(user("user" + i + "@example.com", "token-" + i));
+        }
+        store.saveAll(users);
+        UserModel moved = users.get(3);
+        moved.setToken("token-moved");
+        store.updateLogin(moved, "token-3");
+        store.close();
+
+        store = new OffHeapUserStore(directory.resolve("users.dat"), 4);
+
+        assertEquals(10, store.size());
+        assertEquals(users.get(7).getId(), store.findByEmail("user7@example.com").orElseThrow().getId());
+        assertEquals(moved.getId(), store.findByToken("token-moved").orElseThrow().getId());
+        assertTrue(store.findByToken("token-3").isEmpty());
+    }
+
+    @Test
+    void manyUsers_GrowSegmentsAndIndexes() {
+        for (int i = 0; i < 5_000; i++) {
+            store.create(user("user" + i + "@example.com", "token-" + i));
+        }
+
+        assertEquals(5_000, store.size());
+        for (int i = 0; i < 5_000; i += 97) {
+            assertEquals("user" + i + "@example.com", store.findByToken("token-" + i).orElseThrow().getEmail());
+        }
+    }
+
+    @Test
+    void create_UserAtThePublishedLimits_Fits() {
+        String domain = "@example.com";
+        UserModel largest = user("k".repeat(OffHeapUserStore.LIMITS.getMaxEmailBytes() - domain.length()) + domain,
+                "token-l");
+        largest.setName("x".repeat(OffHeapUserStore.LIMITS.getMaxNameBytes()));
+        PhoneModel phone = new PhoneModel(1234567L, 1, "a".repeat(OffHeapUserStore.LIMITS.getMaxCountryCodeBytes()));
+        largest.setPhones(new ArrayList<>(Collections.nCopies(OffHeapUserStore.LIMITS.getMaxPhones(), phone)));
+
+        store.create(largest);
+
+        UserModel found = store.findByToken("token-l").orElseThrow();
+        assertEquals(largest.getEmail(), found.getEmail());
+        assertEquals(largest.getName(), found.getName());
+        assertEquals(OffHeapUserStore.LIMITS.getMaxPhones(), found.getPhones().size());
+    }
+
+    @Test
+    void apply_WhenUserDoesNotFitRecord_IsRejected() {
+        UserModel tooManyPhones = user("phones@example.com", "token-p");
+        tooManyPhones.setPhones(new ArrayList<>(Collections.nCopies(5, new PhoneModel())));
+        UserModel longName = user("name@example.com", "token-n");
+        longName.setName("x".repeat(200));
+
+        assertThrows(UserPersistenceException.class, () -> store.apply(tooManyPhones));
+        assertThrows(UserPersistenceException.class, () -> store.create(longName));
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.exception.HashingCapacityExceededException;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void encode_ReturnsEncodedPasswordAndRecordsWait() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("Abcdef12")).thenReturn("ENCODED");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(encoder, registry, 1, 1, 1);
+
+        assertEquals("ENCODED", executor.encode("Abcdef12"));
+        assertEquals(1, registry.get("password.hash.wait").timer().count());
+        assertEquals(1, registry.get("password.hash.duration").timer().count());
+    }
+
+    @Test
+    void encode_WhenQueueIsFull_FailsFastWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return "ENCODED";
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(encoder, registry, 1, 1, 3);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> executor.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> executor.encode("second"));
+            waitForQueueDepth(registry, 1);
+
+            HashingCapacityExceededException ex = assertThrows(HashingCapacityExceededException.class,
+                    () -> executor.encode("third"));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            assertEquals(1.0, registry.get("password.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("ENCODED", running.get(5, TimeUnit.SECONDS));
+            assertEquals("ENCODED", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private static void waitForQueueDepth(SimpleMeterRegistry registry, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("password.hash.queue.depth").gauge().value() < depth) {
+            if (System.nanoTime() > deadline) {
+                fail("Hash queue never reached depth " + depth);
+            }
+            Thread.sleep(5);
+        }
+    }
+}
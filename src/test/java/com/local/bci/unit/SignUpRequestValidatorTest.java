@@ -0,0 +1,117 @@
+package com.local.bci.unit;
+
+import com.local.bci.application.dto.PhoneDTO;
+import com.local.bci.application.dto.SignUpRequestDTO;
+import com.local.bci.application.validation.EmailFormatValidator;
+import com.local.bci.application.validation.PasswordFormatValidator;
+import com.local.bci.application.validation.SignUpRequestValidator;
+import com.local.bci.infrastructure.exception.IncorrectPatternException;
+import com.local.bci.infrastructure.persistence.offheap.OffHeapUserStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignUpRequestValidatorTest {
+
+    @Test
+    void validate_WithDefaultPatterns_AppliesTheSameRules() {
+        SignUpRequestValidator validator =
+                new SignUpRequestValidator(EmailFormatValidator.REGEX, PasswordFormatValidator.REGEX);
+
+        assertDoesNotThrow(() -> validator.validate(request("kevin.pineda@example.com", "abcdeF12")));
+        assertEquals("Invalid email format",
+                assertThrows(IncorrectPatternException.class,
+                        () -> validator.validate(request("kevin@example", "abcdeF12"))).getMessage());
+        assertEquals("Invalid password format",
+                assertThrows(IncorrectPatternException.class,
+                        () -> validator.validate(request("kevin@example.com", "abcdefG123"))).getMessage());
+        assertEquals("Invalid email format",
+                assertThrows(IncorrectPatternException.class,
+                        () -> validator.validate(request(null, "abcdeF12"))).getMessage());
+        assertThrows(IncorrectPatternException.class, () -> validator.validate(request("", "abcdeF12")));
+        assertThrows(IncorrectPatternException.class, () -> validator.validate(request("kevin@example.com", null)));
+    }
+
+    @Test
+    void validate_WithCustomPattern_UsesThatPattern() {
+        SignUpRequestValidator validator = new SignUpRequestValidator("^[a-z]+@corp\\.cl$", "^.{4,}$");
+
+        assertDoesNotThrow(() -> validator.validate(request("kevin@corp.cl", "any password")));
+        assertThrows(IncorrectPatternException.class,
+                () -> validator.validate(request("kevin@example.com", "abcdeF12")));
+    }
+
+    @Test
+    void validate_WithRegexEngine_KeepsDefaultRules() {
+        SignUpRequestValidator validator = new SignUpRequestValidator(EmailFormatValidator.REGEX,
+                PasswordFormatValidator.REGEX, SignUpRequestValidator.REGEX_ENGINE);
+
+        assertDoesNotThrow(() -> validator.validate(request("kevin.pineda@example.com", "abcdeF12")));
+        assertThrows(IncorrectPatternException.class,
+                () -> validator.validate(request("kevin.pineda@example.com", "abcdeFG12")));
+    }
+
+    @Test
+    void validate_WithOffHeapLimits_RejectsFieldsThatDoNotFitARecord() {
+        SignUpRequestValidator validator = new SignUpRequestValidator(EmailFormatValidator.REGEX,
+                PasswordFormatValidator.REGEX, SignUpRequestValidator.AUTO_ENGINE, OffHeapUserStore.LIMITS);
+        String domain = "@example.com";
+        String longestEmail = "k".repeat(254 - domain.length()) + domain;
+
+        SignUpRequestDTO largest = request(longestEmail, "abcdeF12");
+        largest.setName("\u00f1".repeat(47));
+        largest.setPhones(phones(4, "a".repeat(10)));
+        assertDoesNotThrow(() -> validator.validate(largest));
+
+        SignUpRequestDTO longEmail = request("k" + longestEmail, "abcdeF12");
+        assertSame(IncorrectPatternException.EMAIL_TOO_LONG,
+                assertThrows(IncorrectPatternException.class, () -> validator.validate(longEmail)));
+
+        SignUpRequestDTO longName = request("kevin@example.com", "abcdeF12");
+        longName.setName("\u00f1".repeat(47) + "x");
+        assertSame(IncorrectPatternException.NAME_TOO_LONG,
+                assertThrows(IncorrectPatternException.class, () -> validator.validate(longName)));
+
+        SignUpRequestDTO tooManyPhones = request("kevin@example.com", "abcdeF12");
+        tooManyPhones.setPhones(phones(5, "56"));
+        assertSame(IncorrectPatternException.TOO_MANY_PHONES,
+                assertThrows(IncorrectPatternException.class, () -> validator.validate(tooManyPhones)));
+
+        SignUpRequestDTO longCountryCode = request("kevin@example.com", "abcdeF12");
+        longCountryCode.setPhones(phones(1, "a".repeat(11)));
+        assertSame(IncorrectPatternException.COUNTRY_CODE_TOO_LONG,
+                assertThrows(IncorrectPatternException.class, () -> validator.validate(longCountryCode)));
+    }
+
+    @Test
+    void validate_WithoutLimits_AcceptsLargeRequests() {
+        SignUpRequestValidator validator =
+                new SignUpRequestValidator(EmailFormatValidator.REGEX, PasswordFormatValidator.REGEX);
+        SignUpRequestDTO request = request("kevin@example.com", "abcdeF12");
+        request.setName("x".repeat(1000));
+        request.setPhones(phones(20, "56"));
+
+        assertDoesNotThrow(() -> validator.validate(request));
+    }
+
+    @Test
+    void constructor_RejectsUnknownEngine() {
+        assertThrows(IllegalArgumentException.class, () -> new SignUpRequestValidator(
+                EmailFormatValidator.REGEX, PasswordFormatValidator.REGEX, "fast"));
+    }
+
+    private static SignUpRequestDTO request(String email, String password) {
+        SignUpRequestDTO request = new SignUpRequestDTO();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+
+    private static List<PhoneDTO> phones(int count, String countryCode) {
+        return new ArrayList<>(Collections.nCopies(count, new PhoneDTO(1234567L, 1, countryCode)));
+    }
+}
@@ -5,24 +5,32 @@ import com.local.bci.application.dto.SignUpRequestDTO;
 import com.local.bci.application.dto.UserResponseDTO;
 import com.local.bci.application.mapper.UserDtoModelMapper;
 import com.local.bci.application.usecase.impl.SignUpUseCaseImpl;
+import com.local.bci.application.validation.SignUpRequestValidator;
 import com.local.bci.domain.model.PhoneModel;
 import com.local.bci.domain.model.UserModel;
-import com.local.bci.domain.port.persistence.FindUserByEmailPort;
-import com.local.bci.domain.port.persistence.SaveUserPort;
+import com.local.bci.domain.port.persistence.CreateUserPort;
+import com.local.bci.domain.port.persistence.EmailMembershipPort;
+import com.local.bci.domain.port.persistence.ExistsUserByEmailPort;
+import com.local.bci.domain.port.persistence.IdGeneratorPort;
+import com.local.bci.infrastructure.concurrency.EmailLocks;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
 import com.local.bci.infrastructure.security.JwtService;
+import com.local.bci.infrastructure.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
-import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,17 +44,36 @@ class SignUpUseCaseTest {
     private UserDtoModelMapper dtoMapper;
 
     @Mock
-    private FindUserByEmailPort findUserByEmailPort;
+    private ExistsUserByEmailPort existsUserByEmailPort;
 
     @Mock
-    private SaveUserPort saveUserPort;
+    private EmailMembershipPort emailMembershipPort;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private CreateUserPort createUserPort;
+
+    @Mock
+    private PasswordHashingExecutor passwordHasher;
 
     @Mock
     private JwtService jwtService;
 
+    @Spy
+    private SignUpRequestValidator requestValidator = new SignUpRequestValidator(
+            "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$",
+            "^(?=.{8,12}$)(?=[^A-Z]*[A-Z][^A-Z]*$)(?=[^0-9]*[0-9][^0-9]*[0-9][^0-9]*$)[A-Za-z0-9]+$");
+
+    @Spy
+    private IdGeneratorPort idGenerator = new UuidV7Generator();
+
+    @Spy
+    private EmailLocks emailLocks = new EmailLocks(16);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UseCaseMetrics metrics = new UseCaseMetrics(meterRegistry);
+
     @InjectMocks
     private SignUpUseCaseImpl signUpUseCase;
 
@@ -65,9 +92,6 @@ class SignUpUseCaseTest {
         phone.setCountryCode("+54");
         request.setPhones(Collections.singletonList(phone));
 
-        ReflectionTestUtils.setField(signUpUseCase, "emailPattern", Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$"));
-        ReflectionTestUtils.setField(signUpUseCase, "passwordPattern", Pattern.compile("^(?=.{8,12}$)(?=[^A-Z]*[A-Z][^A-Z]*$)(?=[^0-9]*[0-9][^0-9]*[0-9][^0-9]*$)[A-Za-z0-9]+$"));
-
     }
 
     @Test
@@ -98,19 +122,19 @@ class SignUpUseCaseTest {
 
     @Test
     void shouldThrowWhenUserAlreadyExists() {
-        when(findUserByEmailPort.findByEmail(request.getEmail()))
-                .thenReturn(Optional.of(new UserModel()));
+        when(emailMembershipPort.mightExist(request.getEmail())).thenReturn(true);
+        when(existsUserByEmailPort.existsByEmail(request.getEmail())).thenReturn(true);
 
         assertThrows(IllegalStateException.class, () -> signUpUseCase.apply(request));
-        verify(findUserByEmailPort).findByEmail(request.getEmail());
-        verifyNoMoreInteractions(saveUserPort);
+        verify(existsUserByEmailPort).existsByEmail(request.getEmail());
+        verifyNoMoreInteractions(createUserPort);
     }
 
     @Test
     void shouldCreateUserSuccessfully() {
 
-        when(findUserByEmailPort.findByEmail(request.getEmail()))
-                .thenReturn(Optional.empty());
+        when(emailMembershipPort.mightExist(request.getEmail())).thenReturn(true);
+        when(existsUserByEmailPort.existsByEmail(request.getEmail())).thenReturn(false);
 
         when(dtoMapper.dtoToModel(eq(request))).thenAnswer(inv -> {
             SignUpRequestDTO r = inv.getArgument(0);
@@ -122,10 +146,10 @@ class SignUpUseCaseTest {
             return m;
         });
 
-        when(passwordEncoder.encode(request.getPassword())).thenReturn("ENCODED_PASS");
-        when(jwtService.generateToken(request.getEmail())).thenReturn("INITIAL_TOKEN");
+        when(passwordHasher.encode(request.getPassword())).thenReturn("ENCODED_PASS");
+        when(jwtService.generateToken(eq(request.getEmail()), any(UUID.class))).thenReturn("INITIAL_TOKEN");
 
-        when(saveUserPort.apply(any(UserModel.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(createUserPort.create(any(UserModel.class))).thenAnswer(inv -> inv.getArgument(0));
 
         when(dtoMapper.modelToResponseDto(any(UserModel.class))).thenAnswer(inv -> {
             UserModel m = inv.getArgument(0);
@@ -142,7 +166,7 @@ class SignUpUseCaseTest {
         assertEquals(request.getEmail(), result.getEmail());
 
         ArgumentCaptor<UserModel> captor = ArgumentCaptor.forClass(UserModel.class);
-        verify(saveUserPort).apply(captor.capture());
+        verify(createUserPort).create(captor.capture());
 
         UserModel savedArg = captor.getValue();
         assertNotNull(savedArg.getPasswordEncrypted());
@@ -154,4 +178,31 @@ class SignUpUseCaseTest {
 
         verify(dtoMapper).modelToResponseDto(savedArg);
     }
+
+    @Test
+    void shouldSkipEmailLookupWhenEmailIsKnownToBeNew() {
+        when(emailMembershipPort.mightExist(request.getEmail())).thenReturn(false);
+        when(dtoMapper.dtoToModel(eq(request))).thenAnswer(inv -> new UserModel());
+        when(passwordHasher.encode(request.getPassword())).thenReturn("ENCODED_PASS");
+        when(createUserPort.create(any(UserModel.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(dtoMapper.modelToResponseDto(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        assertNotNull(signUpUseCase.apply(request));
+
+        verifyNoInteractions(existsUserByEmailPort);
+        verify(createUserPort).create(any(UserModel.class));
+    }
+
+    @Test
+    void shouldPropagateDuplicateDetectedByInsertAndReleaseLock() {
+        when(emailMembershipPort.mightExist(request.getEmail())).thenReturn(false);
+        when(dtoMapper.dtoToModel(eq(request))).thenAnswer(inv -> new UserModel());
+        when(passwordHasher.encode(request.getPassword())).thenReturn("ENCODED_PASS");
+        when(createUserPort.create(any(UserModel.class))).thenThrow(new UserExistsException("User already exists"));
+
+        assertThrows(UserExistsException.class, () -> signUpUseCase.apply(request));
+
+        assertFalse(((ReentrantLock) emailLocks.lockFor(request.getEmail())).isLocked());
+        verify(dtoMapper, never()).modelToResponseDto(any(UserModel.class));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong(-5 * SECOND);
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+            "test", 3, 2.0, 1_000, Duration.ofHours(1), meterRegistry, clock::get);
+
+    @AfterEach
+    void tearDown() {
+        limiter.close();
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstThenRejectsUntilRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertEquals(SECOND / 2, wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(2, meterRegistry.get("ratelimit.rejected").tag("limiter", "test").counter().count());
+    }
+
+    @Test
+    void tryAcquire_KeepsOneBucketPerKey() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void sweep_EvictsOnlyBucketsThatAreFullAgain() {
+        limiter.tryAcquire("idle");
+        clock.addAndGet(SECOND);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy");
+        }
+        assertEquals(2, limiter.size());
+
+        assertEquals(1, limiter.sweep(clock.get()));
+        assertEquals(1, limiter.size());
+        assertEquals(1.0, meterRegistry.get("ratelimit.buckets").tag("limiter", "test").gauge().value());
+        assertTrue(limiter.tryAcquire("busy") > 0);
+    }
+
+    @Test
+    void tryAcquire_WhenFull_LetsNewKeysThroughAndCountsOverflow() {
+        try (TokenBucketRateLimiter tiny = new TokenBucketRateLimiter(
+                "tiny", 1, 1.0, 1, Duration.ofHours(1), meterRegistry, clock::get)) {
+            int overflowed = 0;
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(0, tiny.tryAcquire("client-" + i));
+            }
+            for (int i = 0; i < 1_000; i++) {
+                if (tiny.tryAcquire("client-" + i) == 0) {
+                    overflowed++;
+                }
+            }
+            assertEquals(tiny.capacity(), tiny.size());
+            assertEquals(1_000 - tiny.capacity(), overflowed);
+            assertEquals(2 * overflowed, meterRegistry.get("ratelimit.overflow").tag("limiter", "tiny").counter().count());
+        }
+    }
+
+    @Test
+    void tryAcquire_GrantsExactlyTheBurstToConcurrentCallers() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger granted = new AtomicInteger();
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("shared") == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(3, granted.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveBurstOrRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(
+                "bad", 0, 1.0, 10, Duration.ofHours(1), meterRegistry));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(
+                "bad", 1, 0.0, 10, Duration.ofHours(1), meterRegistry));
+    }
+}
@@ -0,0 +1,87 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.security.TokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TokenDenylist denylist = new TokenDenylist(65_536, Duration.ofHours(1), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        denylist.close();
+    }
+
+    @Test
+    void revoke_RecordsIdOnlyOnce() {
+        UUID id = UUID.randomUUID();
+
+        assertFalse(denylist.isRevoked(id));
+        assertTrue(denylist.revoke(id, 2_000));
+        assertFalse(denylist.revoke(id, 2_000));
+        assertTrue(denylist.isRevoked(id));
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void sweep_DropsOnlyExpiredIds() {
+        List<UUID> expired = new ArrayList<>();
+        List<UUID> live = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            if (i % 2 == 0) {
+                expired.add(id);
+                denylist.revoke(id, 1_000);
+            } else {
+                live.add(id);
+                denylist.revoke(id, 3_000);
+            }
+        }
+
+        assertEquals(250, denylist.sweep(2_000));
+
+        assertEquals(250, denylist.size());
+        expired.forEach(id -> assertFalse(denylist.isRevoked(id)));
+        live.forEach(id -> assertTrue(denylist.isRevoked(id)));
+    }
+
+    @Test
+    void revoke_WhenFull_DropsAndCountsOverflow() {
+        TokenDenylist small = new TokenDenylist(64, Duration.ofHours(1), new SimpleMeterRegistry());
+        try {
+            int dropped = 0;
+            for (int i = 0; i < 1_000; i++) {
+                UUID id = UUID.randomUUID();
+                assertTrue(small.revoke(id, 2_000));
+                if (!small.isRevoked(id)) {
+                    dropped++;
+                }
+            }
+
+            assertEquals(small.capacity(), small.size());
+            assertEquals(1_000 - small.capacity(), dropped);
+        } finally {
+            small.close();
+        }
+    }
+
+    @Test
+    void metrics_PublishSizeCapacityAndOverflow() {
+        denylist.revoke(UUID.randomUUID(), 2_000);
+
+        assertEquals(1.0, meterRegistry.get("jwt.denylist.size").gauge().value());
+        assertEquals(65_536.0, meterRegistry.get("jwt.denylist.capacity").gauge().value());
+        assertEquals(0.0, meterRegistry.get("jwt.denylist.overflow").counter().count());
+    }
+}
@@ -0,0 +1,32 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.metrics.UseCaseMetrics;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.LoginStage;
+import com.local.bci.infrastructure.metrics.UseCaseMetrics.StageTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final StageTimers<LoginStage> stages = new UseCaseMetrics(meterRegistry).register("login", LoginStage.class);
+
+    @Test
+    void register_CreatesATimerForEveryStage() {
+        assertEquals(LoginStage.values().length,
+                meterRegistry.get(UseCaseMetrics.METER_NAME).tag("usecase", "login").timers().size());
+    }
+
+    @Test
+    void record_TimesTheGivenStage() {
+        stages.record(LoginStage.JWT_VERIFY, System.nanoTime());
+
+        assertEquals(1, meterRegistry.get(UseCaseMetrics.METER_NAME)
+                .tag("usecase", "login").tag("stage", "jwt_verify").timer().count());
+        assertEquals(0, meterRegistry.get(UseCaseMetrics.METER_NAME)
+                .tag("usecase", "login").tag("stage", "persist").timer().count());
+    }
+}
@@ -1,17 +1,23 @@
 package com.local.bci.unit;
 
 import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserExistsException;
 import com.local.bci.infrastructure.exception.UserPersistenceException;
 import com.local.bci.infrastructure.mapper.UserEntityModelMapper;
 import com.local.bci.infrastructure.persistence.adapter.UserRepositoryAdapter;
 import com.local.bci.infrastructure.persistence.entity.UserEntity;
 import com.local.bci.infrastructure.persistence.jpa.UserJpaRepository;
+import com.local.bci.infrastructure.security.TokenDigest;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +32,9 @@ class UserRepositoryAdapterTest {
     @Mock
     private UserEntityModelMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private UserRepositoryAdapter adapter;
 
@@ -106,33 +115,33 @@ class UserRepositoryAdapterTest {
         UserModel model = new UserModel();
         model.setToken(token);
 
-        when(jpaRepository.findByToken(token)).thenReturn(Optional.of(entity));
+        when(jpaRepository.findByTokenDigest(TokenDigest.of(token))).thenReturn(Optional.of(entity));
         when(mapper.entityToModel(entity)).thenReturn(model);
 
         Optional<UserModel> result = adapter.findByToken(token);
 
         assertTrue(result.isPresent());
         assertEquals(token, result.get().getToken());
-        verify(jpaRepository).findByToken(token);
+        verify(jpaRepository).findByTokenDigest(TokenDigest.of(token));
         verify(mapper).entityToModel(entity);
     }
 
     @Test
     void findByToken_WhenNotFound_ReturnsEmpty() {
         String token = "notfoundToken";
-        when(jpaRepository.findByToken(token)).thenReturn(Optional.empty());
+        when(jpaRepository.findByTokenDigest(TokenDigest.of(token))).thenReturn(Optional.empty());
 
         Optional<UserModel> result = adapter.findByToken(token);
 
         assertTrue(result.isEmpty());
-        verify(jpaRepository).findByToken(token);
+        verify(jpaRepository).findByTokenDigest(TokenDigest.of(token));
         verifyNoInteractions(mapper);
     }
 
     @Test
     void findByToken_WhenDataAccessException_ThrowsUserPersistenceException() {
         String token = "errorToken";
-        when(jpaRepository.findByToken(token)).thenThrow(new org.springframework.dao.DataAccessResourceFailureException("DB down"));
+        when(jpaRepository.findByTokenDigest(TokenDigest.of(token))).thenThrow(new org.springframework.dao.DataAccessResourceFailureException("DB down"));
 
         UserPersistenceException exception = assertThrows(
                 UserPersistenceException.class,
@@ -140,7 +149,32 @@ class UserRepositoryAdapterTest {
         );
 
         assertEquals("Failed to find user by token", exception.getMessage());
-        verify(jpaRepository).findByToken(token);
+        verify(jpaRepository).findByTokenDigest(TokenDigest.of(token));
         verifyNoInteractions(mapper);
     }
-}
+
+    @Test
+    void create_WhenEmailConstraintIsViolated_ThrowsUserExists() {
+        UserModel model = new UserModel();
+        UserEntity entity = new UserEntity();
+        when(mapper.modelToEntity(model)).thenReturn(entity);
+        doThrow(new PersistenceException(new ConstraintViolationException("duplicate",
+                new SQLException("duplicate key"), "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)")))
+                .when(entityManager).flush();
+
+        assertThrows(UserExistsException.class, () -> adapter.create(model));
+        verify(entityManager).persist(entity);
+    }
+
+    @Test
+    void create_WhenOtherConstraintIsViolated_ThrowsUserPersistenceException() {
+        UserModel model = new UserModel();
+        UserEntity entity = new UserEntity();
+        when(mapper.modelToEntity(model)).thenReturn(entity);
+        doThrow(new PersistenceException(new ConstraintViolationException("duplicate",
+                new SQLException("duplicate key"), "PUBLIC.PRIMARY_KEY_4")))
+                .when(entityManager).flush();
+
+        assertThrows(UserPersistenceException.class, () -> adapter.create(model));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.local.bci.unit;
+
+import com.local.bci.domain.model.PhoneModel;
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.exception.UserExistsException;
+import com.local.bci.infrastructure.exception.UserPersistenceException;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link UserStore} base implementation must share.
+ * Subclasses provide an empty store.
+ */
+public abstract class UserStoreContractTest {
+
+    protected abstract UserStore store();
+
+    protected abstract List<String> allEmails();
+
+    @Test
+    public void create_ThenFindsUserByEmailTokenAndId() {
+        UserModel user = user("kevin@example.com", "token-1");
+        PhoneModel phone = new PhoneModel();
+        phone.setNumber(1234567L);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        user.setPhones(new ArrayList<>(List.of(phone)));
+
+        store().create(user);
+
+        UserModel byEmail = store().findByEmail("kevin@example.com").orElseThrow();
+        assertEquals(user.getId(), byEmail.getId());
+        assertEquals("Kevin", byEmail.getName());
+        assertEquals("hash", byEmail.getPasswordEncrypted());
+        assertEquals(Boolean.TRUE, byEmail.getIsActive());
+        assertEquals(user.getCreated(), byEmail.getCreated());
+        assertEquals(1, byEmail.getPhones().size());
+        assertEquals(1234567L, byEmail.getPhones().get(0).getNumber());
+        assertEquals("56", byEmail.getPhones().get(0).getCountryCode());
+
+        assertEquals(user.getId(), store().findByToken("token-1").orElseThrow().getId());
+        assertEquals("kevin@example.com", store().findById(user.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    public void find_WhenNotFound_ReturnsEmpty() {
+        assertTrue(store().findByEmail("notfound@example.com").isEmpty());
+        assertTrue(store().findByToken("unknown-token").isEmpty());
+        assertTrue(store().findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    public void existsByEmail_ReflectsRegisteredEmails() {
+        store().create(user("kevin@example.com", "token-1"));
+
+        assertTrue(store().existsByEmail("kevin@example.com"));
+        assertFalse(store().existsByEmail("notfound@example.com"));
+    }
+
+    @Test
+    public void updateLogin_KeepsPhones() {
+        UserModel user = user("kevin@example.com", "token-1");
+        PhoneModel phone = new PhoneModel();
+        phone.setNumber(1234567L);
+        phone.setCityCode(1);
+        phone.setCountryCode("56");
+        user.setPhones(new ArrayList<>(List.of(phone)));
+        store().create(user);
+
+        UserModel loggedIn = store().findByToken("token-1").orElseThrow();
+        loggedIn.setToken("token-2");
+        store().updateLogin(loggedIn, "token-1");
+
+        UserModel reloaded = store().findByToken("token-2").orElseThrow();
+        assertEquals(1, reloaded.getPhones().size());
+        assertEquals(1234567L, reloaded.getPhones().get(0).getNumber());
+    }
+
+    @Test
+    public void create_WhenEmailIsRegistered_ThrowsUserExists() {
+        store().create(user("kevin@example.com", "token-1"));
+
+        assertThrows(UserExistsException.class, () -> store().create(user("kevin@example.com", "token-2")));
+        assertTrue(store().findByToken("token-2").isEmpty());
+    }
+
+    @Test
+    public void apply_UpdatesExistingUser() {
+        UserModel user = store().create(user("kevin@example.com", "token-1"));
+        user.setName("Kevin Updated");
+
+        store().apply(user);
+
+        assertEquals("Kevin Updated", store().findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void updateLogin_MovesTokenLookupToNewToken() {
+        UserModel user = store().create(user("kevin@example.com", "token-1"));
+        LocalDateTime login = user.getLastLogin().plusMinutes(5);
+        user.setLastLogin(login);
+        user.setToken("token-2");
+
+        store().updateLogin(user, "token-1");
+
+        assertTrue(store().findByToken("token-1").isEmpty());
+        UserModel found = store().findByToken("token-2").orElseThrow();
+        assertEquals(user.getId(), found.getId());
+        assertEquals(login, found.getLastLogin());
+    }
+
+    @Test
+    public void updateLogin_WithReplacedToken_UpdatesNothing() {
+        UserModel user = store().create(user("kevin@example.com", "token-1"));
+        user.setToken("token-2");
+        assertEquals(1, store().updateLogin(user, "token-1"));
+
+        user.setToken("token-3");
+        assertEquals(0, store().updateLogin(user, "token-1"));
+
+        assertTrue(store().findByToken("token-3").isEmpty());
+        assertEquals(user.getId(), store().findByToken("token-2").orElseThrow().getId());
+    }
+
+    @Test
+    public void saveAll_InsertsEveryUser() {
+        store().saveAll(List.of(user("a@example.com", "token-a"), user("b@example.com", "token-b")));
+
+        assertEquals(Set.of("a@example.com", "b@example.com"),
+                store().findExistingEmails(List.of("a@example.com", "b@example.com", "c@example.com")));
+        assertEquals(Set.of("a@example.com", "b@example.com"), new HashSet<>(allEmails()));
+        assertTrue(store().findExistingEmails(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void saveAll_WithDuplicateEmail_SavesNothing() {
+        List<UserModel> users = List.of(user("a@example.com", "token-a"), user("a@example.com", "token-b"));
+
+        assertThrows(UserPersistenceException.class, () -> store().saveAll(users));
+        assertTrue(store().findByEmail("a@example.com").isEmpty());
+    }
+
+    protected static UserModel user(String email, String token) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setCreated(now);
+        user.setLastLogin(now);
+        user.setIsActive(Boolean.TRUE);
+        user.setName("Kevin");
+        user.setEmail(email);
+        user.setPasswordEncrypted("hash");
+        user.setToken(token);
+        user.setPhones(new ArrayList<>());
+        return user;
+    }
+}
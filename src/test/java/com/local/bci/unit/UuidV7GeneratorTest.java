@@ -0,0 +1,94 @@
+package com.local.bci.unit;
+
+import com.local.bci.infrastructure.persistence.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void nextId_SetsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = new UuidV7Generator().nextId();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = UuidV7Generator.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    void nextId_IsStrictlyIncreasingWithinTheSameMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.nextId();
+            assertTrue(compareUnsigned(previous, next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_StaysIncreasingWhenClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        UUID before = generator.nextId();
+        clock.addAndGet(-5_000);
+        UUID after = generator.nextId();
+
+        assertTrue(compareUnsigned(before, after) < 0);
+        assertEquals(UuidV7Generator.timestampOf(before), UuidV7Generator.timestampOf(after));
+    }
+
+    @Test
+    void nextId_IsUniqueAcrossThreads() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<UUID>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<UUID> unique = new HashSet<>();
+            for (Future<List<UUID>> result : results) {
+                List<UUID> ids = result.get(10, TimeUnit.SECONDS);
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                unique.addAll(ids);
+            }
+            assertEquals(threads * perThread, unique.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
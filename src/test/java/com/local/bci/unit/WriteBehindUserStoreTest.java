@@ -0,0 +1,162 @@
+package com.local.bci.unit;
+
+import com.local.bci.domain.model.UserModel;
+import com.local.bci.infrastructure.persistence.adapter.CachingUserStore;
+import com.local.bci.infrastructure.persistence.adapter.UserStore;
+import com.local.bci.infrastructure.persistence.adapter.WriteBehindUserStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindUserStoreTest {
+
+    @Mock
+    private UserStore delegate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WriteBehindUserStore store;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        store = new WriteBehindUserStore(delegate, jdbcTemplate, new TransactionTemplate(transactionManager),
+                10, 3_600_000L, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void updateLogin_IsDeferredUntilFlush() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("OLD_TOKEN")));
+        store.updateLogin(user("NEW_TOKEN"), "OLD_TOKEN");
+
+        assertEquals(1, store.pendingCount());
+        verifyNoInteractions(jdbcTemplate);
+        verify(delegate, never()).updateLogin(any(), any());
+    }
+
+    @Test
+    void findByToken_ResolvesPendingTokenBeforeFlush() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("OLD_TOKEN")));
+        store.updateLogin(user("NEW_TOKEN"), "OLD_TOKEN");
+
+        Optional<UserModel> found = store.findByToken("NEW_TOKEN");
+
+        assertTrue(found.isPresent());
+        assertEquals("NEW_TOKEN", found.get().getToken());
+        verify(delegate, never()).findByToken(any());
+    }
+
+    @Test
+    void findByToken_RejectsReplacedTokenBeforeFlush() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("OLD_TOKEN")));
+        store.updateLogin(user("NEW_TOKEN"), "OLD_TOKEN");
+        when(delegate.findByToken("OLD_TOKEN")).thenReturn(Optional.of(user("OLD_TOKEN")));
+
+        assertTrue(store.findByToken("OLD_TOKEN").isEmpty());
+    }
+
+    @Test
+    void updateLogin_WithTokenReplacedByPendingUpdate_IsRejected() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("FIRST_TOKEN")));
+        assertEquals(1, store.updateLogin(user("SECOND_TOKEN"), "FIRST_TOKEN"));
+
+        assertEquals(0, store.updateLogin(user("OTHER_TOKEN"), "FIRST_TOKEN"));
+
+        assertEquals(1, store.pendingCount());
+        assertEquals("SECOND_TOKEN", store.findByToken("SECOND_TOKEN").orElseThrow().getToken());
+        assertTrue(store.findByToken("OTHER_TOKEN").isEmpty());
+    }
+
+    @Test
+    void updateLogin_WithTokenRotatedByAnEarlierFlush_IsRejected() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("FIRST_TOKEN")));
+        assertEquals(1, store.updateLogin(user("SECOND_TOKEN"), "FIRST_TOKEN"));
+        store.flush();
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("SECOND_TOKEN")));
+
+        assertEquals(0, store.updateLogin(user("OTHER_TOKEN"), "FIRST_TOKEN"));
+
+        assertEquals(0, store.pendingCount());
+        assertTrue(store.findByToken("OTHER_TOKEN").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesUpdatesOfTheSameUserIntoOneBatchRow() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("FIRST_TOKEN")));
+        store.updateLogin(user("SECOND_TOKEN"), "FIRST_TOKEN");
+        store.updateLogin(user("THIRD_TOKEN"), "SECOND_TOKEN");
+
+        store.flush();
+
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, batch.getValue().size());
+        assertEquals(0, store.pendingCount());
+    }
+
+    @Test
+    void close_FlushesPendingUpdates() {
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("OLD_TOKEN")));
+        store.updateLogin(user("NEW_TOKEN"), "OLD_TOKEN");
+
+        store.close();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(0, store.pendingCount());
+    }
+
+    @Test
+    void close_OfTheUserCacheOnTop_FlushesPendingUpdates() {
+        CachingUserStore cached = new CachingUserStore(store, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        when(delegate.findById(userId)).thenReturn(Optional.of(user("OLD_TOKEN")));
+        cached.updateLogin(user("NEW_TOKEN"), "OLD_TOKEN");
+
+        cached.close();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(0, store.pendingCount());
+    }
+
+    private UserModel user(String token) {
+        UserModel user = new UserModel();
+        user.setId(userId);
+        user.setEmail("kevin@example.com");
+        user.setToken(token);
+        user.setLastLogin(LocalDateTime.now());
+        user.setIsActive(true);
+        return user;
+    }
+}